@@ -6,6 +6,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -24,4 +25,16 @@ public class AuthenticationController {
     ResponseEntity<AuthenticationResponse> login(@RequestBody @Valid AuthenticationRequest request) {
         return ResponseEntity.ok(authenticationService.login(request));
     }
+
+    @PostMapping("/refresh")
+    ResponseEntity<AuthenticationResponse> refresh(@RequestBody @Valid RefreshTokenRequest request) {
+        return ResponseEntity.ok(authenticationService.refresh(request));
+    }
+
+    @PostMapping("/logout")
+    ResponseEntity<Void> logout(@RequestHeader(value = "Authorization", required = false) String authHeader,
+                                @RequestBody(required = false) RefreshTokenRequest request) {
+        authenticationService.logout(authHeader, request);
+        return ResponseEntity.noContent().build();
+    }
 }
@@ -6,16 +6,19 @@ import com.xplora.backend.entity.User;
 import com.xplora.backend.exception.ResourceNotFoundException;
 import com.xplora.backend.repository.IUserRepository;
 import com.xplora.backend.service.IEmailService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.mail.MessagingException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 @Service
 @RequiredArgsConstructor
@@ -26,6 +29,8 @@ public class AuthenticationService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final IEmailService iEmailService;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService tokenRevocationService;
 
     public AuthenticationResponse register(RegisterRequest request) throws MessagingException {
         logger.info("register - Registro de usuario: " + request);
@@ -38,10 +43,7 @@ public class AuthenticationService {
                 .build();
         iUserRepository.save(user);
         iEmailService.sendMailWelcome(user);
-        String token = jwtService.generateToken(user);
-        return AuthenticationResponse.builder()
-                .token(token)
-                .build();
+        return issueTokens(user);
     }
 
     public AuthenticationResponse login(AuthenticationRequest request) {
@@ -56,9 +58,36 @@ public class AuthenticationService {
         User user = iUserRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found."));
 
-        String token = jwtService.generateToken(user);
+        return issueTokens(user);
+    }
+
+    // Rota el refresh token: el presentado queda revocado y se entrega un par nuevo
+    public AuthenticationResponse refresh(RefreshTokenRequest request) {
+        User user = refreshTokenService.consume(request.getRefreshToken());
+        logger.info("refresh - Renovación de tokens del usuario: " + user.getId());
+        return issueTokens(user);
+    }
+
+    public void logout(String authHeader, RefreshTokenRequest request) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            try {
+                Claims claims = jwtService.verifyToken(authHeader.substring(7));
+                tokenRevocationService.revoke(claims.getId(),
+                        LocalDateTime.ofInstant(claims.getExpiration().toInstant(), ZoneId.systemDefault()));
+            } catch (JwtException e) {
+                // Un access token inválido o ya revocado no impide cerrar la sesión
+                logger.info("logout - Access token no válido: " + e.getMessage());
+            }
+        }
+        if (request != null && request.getRefreshToken() != null) {
+            refreshTokenService.revoke(request.getRefreshToken());
+        }
+    }
+
+    private AuthenticationResponse issueTokens(User user) {
         return AuthenticationResponse.builder()
-                .token(token)
+                .token(jwtService.generateToken(user))
+                .refreshToken(refreshTokenService.issue(user))
                 .build();
     }
 }
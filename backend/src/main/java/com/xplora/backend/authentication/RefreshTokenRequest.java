@@ -0,0 +1,15 @@
+package com.xplora.backend.authentication;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.*;
+
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class RefreshTokenRequest {
+    @ToString.Exclude
+    @NotBlank
+    private String refreshToken;
+}
@@ -0,0 +1,94 @@
+package com.xplora.backend.authentication;
+
+import com.xplora.backend.entity.RefreshToken;
+import com.xplora.backend.entity.User;
+import com.xplora.backend.repository.IRefreshTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Refresh tokens opacos de un solo uso: cada refresh revoca el token presentado y entrega uno nuevo.
+ * Si se presenta un token ya usado se asume robo y se revocan todos los del usuario.
+ */
+@Service
+public class RefreshTokenService {
+    private final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final IRefreshTokenRepository refreshTokenRepository;
+    private final long ttlMs;
+
+    public RefreshTokenService(IRefreshTokenRepository refreshTokenRepository,
+                               @Value("${jwt.refresh-token.ttl-ms:1209600000}") long ttlMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttlMs = ttlMs;
+    }
+
+    public String issue(User user) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        refreshTokenRepository.save(RefreshToken.builder()
+                .tokenHash(hash(token))
+                .user(user)
+                .expiresAt(LocalDateTime.now().plusNanos(ttlMs * 1_000_000))
+                .build());
+        return token;
+    }
+
+    /**
+     * Consume el refresh token y devuelve su usuario; el llamador emite el par nuevo.
+     */
+    @Transactional(noRollbackFor = BadCredentialsException.class)
+    public User consume(String token) {
+        RefreshToken refreshToken = refreshTokenRepository.findByTokenHashWithUser(hash(token))
+                .orElseThrow(() -> new BadCredentialsException("Refresh token inválido"));
+        LocalDateTime now = LocalDateTime.now();
+        if (refreshToken.getExpiresAt().isBefore(now)) {
+            throw new BadCredentialsException("Refresh token expirado");
+        }
+        if (refreshTokenRepository.revokeIfActive(refreshToken.getId(), now) == 0) {
+            User user = refreshToken.getUser();
+            refreshTokenRepository.revokeAllByUserId(user.getId(), now);
+            logger.warn("consume - Reutilización de refresh token del usuario " + user.getId() + ", se revocan todas sus sesiones");
+            throw new BadCredentialsException("Refresh token inválido");
+        }
+        return refreshToken.getUser();
+    }
+
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHashWithUser(hash(token))
+                .ifPresent(refreshToken -> refreshTokenRepository.revokeIfActive(refreshToken.getId(), LocalDateTime.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}")
+    public void purgeExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.info("purgeExpired - Refresh tokens expirados eliminados: " + deleted);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
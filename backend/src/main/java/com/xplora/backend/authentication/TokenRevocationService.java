@@ -0,0 +1,99 @@
+package com.xplora.backend.authentication;
+
+import com.xplora.backend.entity.RevokedToken;
+import com.xplora.backend.repository.IRevokedTokenRepository;
+import com.xplora.backend.utils.BloomFilter;
+import com.xplora.backend.utils.BoundedCache;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Revocación de access tokens por jti. La tabla revoked_tokens es la fuente de verdad; en memoria
+ * se mantiene un filtro de Bloom para que la consulta en cada request no toque la base de datos.
+ * Solo un positivo del filtro se confirma contra la tabla.
+ */
+@Service
+public class TokenRevocationService {
+    private final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+
+    private final IRevokedTokenRepository revokedTokenRepository;
+    private final long expectedRevocations;
+    private final long syncOverlapMs;
+    // Resultado de confirmar contra la tabla los positivos del filtro
+    private final BoundedCache<String, Boolean> confirmed = new BoundedCache<>(10000);
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync;
+
+    public TokenRevocationService(IRevokedTokenRepository revokedTokenRepository,
+                                  @Value("${jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                                  @Value("${jwt.revocation.sync-interval-ms:10000}") long syncIntervalMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedRevocations = expectedRevocations;
+        this.syncOverlapMs = syncIntervalMs;
+    }
+
+    @PostConstruct
+    public void init() {
+        rebuild();
+    }
+
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Boolean revoked = confirmed.get(jti);
+        if (revoked == null) {
+            revoked = revokedTokenRepository.existsById(jti);
+            confirmed.put(jti, revoked);
+        }
+        return revoked;
+    }
+
+    public void revoke(String jti, LocalDateTime expiresAt) {
+        if (jti == null || !expiresAt.isAfter(LocalDateTime.now())) {
+            return;
+        }
+        revokedTokenRepository.save(new RevokedToken(jti, expiresAt, LocalDateTime.now()));
+        filter.put(jti);
+        confirmed.remove(jti);
+        logger.info("revoke - Access token revocado: " + jti);
+    }
+
+    // Incorpora las revocaciones hechas por otras instancias
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval-ms:10000}", initialDelayString = "${jwt.revocation.sync-interval-ms:10000}")
+    public void sync() {
+        LocalDateTime now = LocalDateTime.now();
+        // Se solapa una ventana para no perder filas escritas mientras corría la consulta anterior
+        List<String> jtis = revokedTokenRepository.findJtisRevokedSince(lastSync.minusNanos(syncOverlapMs * 1_000_000));
+        BloomFilter current = filter;
+        for (String jti : jtis) {
+            current.put(jti);
+            confirmed.remove(jti);
+        }
+        lastSync = now;
+    }
+
+    // Reconstruye el filtro sin los tokens ya expirados, que dejan de ocupar bits
+    @Scheduled(fixedDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}", initialDelayString = "${jwt.revocation.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        LocalDateTime now = LocalDateTime.now();
+        int purged = revokedTokenRepository.deleteExpired(now);
+        List<String> jtis = revokedTokenRepository.findActiveJtis(now);
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedRevocations, jtis.size() * 2L), FALSE_POSITIVE_RATE);
+        jtis.forEach(rebuilt::put);
+        filter = rebuilt;
+        confirmed.clear();
+        lastSync = now;
+        // Lo revocado localmente mientras se cargaba la tabla quedó en el filtro anterior
+        sync();
+        logger.info("rebuild - Filtro de revocación reconstruido con " + jtis.size() + " tokens (" + purged + " expirados eliminados)");
+    }
+}
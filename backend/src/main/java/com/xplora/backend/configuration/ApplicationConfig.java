@@ -1,16 +1,18 @@
 package com.xplora.backend.configuration;
 
+import com.xplora.backend.entity.User;
 import com.xplora.backend.repository.IUserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
@@ -24,17 +26,35 @@ public class ApplicationConfig {
                 .orElseThrow(() -> new UsernameNotFoundException("Username not found."));
     }
 
+    // Al iniciar sesión, si el costo de BCrypt cambió, se guarda el nuevo hash de la contraseña
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> {
+            iUserRepository.updatePassword(user.getUsername(), newPassword);
+            if (user instanceof User entity) {
+                entity.setPassword(newPassword);
+            }
+            return user;
+        };
+    }
+
+    @Bean
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService());
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        authProvider.setUserDetailsPasswordService(userDetailsPasswordService());
         return authProvider;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder(@Value("${security.bcrypt.strength:10}") int strength,
+                                                  @Value("${security.bcrypt.threads:0}") int threads,
+                                                  @Value("${security.bcrypt.queue-capacity:64}") int queueCapacity,
+                                                  @Value("${security.bcrypt.timeout-ms:5000}") long timeoutMs,
+                                                  @Value("${security.bcrypt.retry-after-seconds:2}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(strength, poolSize, queueCapacity, timeoutMs, retryAfterSeconds);
     }
 
     @Bean
@@ -0,0 +1,15 @@
+package com.xplora.backend.configuration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Inyecta en un parámetro de controlador el usuario que JwtAuthenticationFilter
+ * ya dejó en el SecurityContext, sin volver a leer el header ni consultar la base de datos.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AuthenticatedUser {
+}
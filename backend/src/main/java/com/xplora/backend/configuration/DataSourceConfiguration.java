@@ -0,0 +1,74 @@
+package com.xplora.backend.configuration;
+
+import com.xplora.backend.service.IProductService;
+import com.xplora.backend.utils.CircuitBreaker;
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * DataSource principal (spring.datasource) y réplica opcional de lectura (replica.datasource).
+ * La conexión se obtiene recién en la primera sentencia, cuando ya se sabe si la transacción es
+ * readOnly: las de los servicios van a la réplica y el resto, incluidas las lecturas sin transacción,
+ * a la principal.
+ */
+@Configuration
+public class DataSourceConfiguration {
+    private final Logger logger = LoggerFactory.getLogger(DataSourceConfiguration.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaDataSource replicaDataSource(HikariDataSource primaryDataSource, ReadYourWritesTracker readYourWrites,
+                                               @Value("${replica.datasource.url:}") String url,
+                                               @Value("${replica.datasource.username:}") String username,
+                                               @Value("${replica.datasource.password:}") String password,
+                                               @Value("${replica.datasource.maximum-pool-size:10}") int maximumPoolSize,
+                                               @Value("${replica.datasource.connection-timeout-ms:1000}") long connectionTimeoutMs,
+                                               @Value("${replica.fallback.failure-threshold:3}") int failureThreshold,
+                                               @Value("${replica.fallback.open-ms:30000}") long openMs) {
+        HikariDataSource replica = null;
+        if (url.isBlank()) {
+            logger.info("replicaDataSource - Sin réplica configurada; las transacciones readOnly usan la base principal");
+        } else {
+            replica = new HikariDataSource();
+            replica.setPoolName("replica");
+            replica.setJdbcUrl(url);
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setConnectionTimeout(connectionTimeoutMs);
+            replica.setReadOnly(true);
+            // Arranca aunque la réplica esté caída; las lecturas caen a la principal hasta que vuelva
+            replica.setInitializationFailTimeout(-1);
+        }
+        return new ReplicaDataSource(replica, primaryDataSource, new CircuitBreaker(failureThreshold, openMs), readYourWrites,
+                IProductService.class.getPackageName());
+    }
+
+    // SqlProfilingDataSource por fuera: mide filas y tiempo de la petición sea cual sea la base que atiende
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        if (replicaDataSource.isConfigured()) {
+            dataSource.setReadOnlyDataSource(replicaDataSource);
+        }
+        return new SqlProfilingDataSource(dataSource);
+    }
+}
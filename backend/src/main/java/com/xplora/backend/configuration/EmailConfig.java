@@ -1,12 +1,13 @@
 package com.xplora.backend.configuration;
 
+import com.xplora.backend.utils.CircuitBreaker;
+import com.xplora.backend.utils.MailDispatcher;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.io.DefaultResourceLoader;
 import org.springframework.core.io.ResourceLoader;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 import java.util.Properties;
@@ -18,18 +19,30 @@ public class EmailConfig {
     private String email;
     @Value("${email.password}")
     private String password;
+    @Value("${email.host:smtp.gmail.com}")
+    private String host;
+    @Value("${email.port:587}")
+    private int port;
+    @Value("${email.connection-timeout-ms:5000}")
+    private int connectionTimeoutMs;
+    @Value("${email.timeout-ms:10000}")
+    private int timeoutMs;
 
     private Properties getMailProperties() {
         Properties properties = new Properties();
         properties.put("mail.smtp.auth", "true");
         properties.put("mail.smtp.starttls.enable", "true");
-        properties.put("mail.smtp.host", "smtp.gmail.com");
-        properties.put("mail.smtp.port", "587");
+        properties.put("mail.smtp.host", host);
+        properties.put("mail.smtp.port", String.valueOf(port));
+        // Sin timeouts, un servidor SMTP colgado bloquea el hilo indefinidamente
+        properties.put("mail.smtp.connectiontimeout", String.valueOf(connectionTimeoutMs));
+        properties.put("mail.smtp.timeout", String.valueOf(timeoutMs));
+        properties.put("mail.smtp.writetimeout", String.valueOf(timeoutMs));
         return properties;
     }
 
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSenderImpl javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         mailSender.setJavaMailProperties(getMailProperties());
         mailSender.setUsername(email);
@@ -37,6 +50,18 @@ public class EmailConfig {
         return mailSender;
     }
 
+    @Bean(destroyMethod = "shutdown")
+    public MailDispatcher mailDispatcher(JavaMailSenderImpl javaMailSender,
+                                         @Value("${email.dispatcher.connections:2}") int connections,
+                                         @Value("${email.dispatcher.queue-capacity:1000}") int queueCapacity,
+                                         @Value("${email.dispatcher.batch-size:20}") int batchSize,
+                                         @Value("${email.dispatcher.idle-ms:30000}") long idleMs,
+                                         @Value("${email.dispatcher.breaker.failure-threshold:5}") int failureThreshold,
+                                         @Value("${email.dispatcher.breaker.open-ms:30000}") long openMs) {
+        return new MailDispatcher(javaMailSender.getSession(), host, port, email, password,
+                connections, queueCapacity, batchSize, idleMs, new CircuitBreaker(failureThreshold, openMs));
+    }
+
     @Bean
     public ResourceLoader resourceLoader() {
         return new DefaultResourceLoader();
@@ -0,0 +1,144 @@
+package com.xplora.backend.configuration;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Llaves de firma de los JWT, compartidas entre instancias a través de un archivo de propiedades:
+ * <pre>
+ * active=2026-10
+ * key.2026-09.secret=&lt;base64, mínimo 32 bytes (openssl rand -base64 32)&gt;
+ * key.2026-09.expires-at=2026-11-02T00:00:00Z
+ * key.2026-10.secret=&lt;base64&gt;
+ * </pre>
+ * Se firma siempre con la llave activa y se verifica con cualquiera que no haya expirado, según el kid
+ * del header. Para rotar: agregar la llave nueva, activarla cuando todas las instancias la hayan leído
+ * y quitar la anterior (o fijar su expires-at) después de la vida máxima de un token.
+ * El archivo se relee periódicamente si cambia su fecha de modificación.
+ */
+@Component
+public class JwtKeyRing {
+    private final Logger logger = LoggerFactory.getLogger(JwtKeyRing.class);
+
+    private final String location;
+    private volatile Snapshot snapshot;
+    private volatile long lastModified = -1;
+
+    public JwtKeyRing(@Value("${jwt.key-ring.location:}") String location) {
+        this.location = location;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (location.isBlank()) {
+            logger.warn("init - jwt.key-ring.location no configurado; se usa una llave efímera, " +
+                    "los tokens no sobreviven reinicios ni sirven entre instancias");
+            String kid = "ephemeral-" + UUID.randomUUID();
+            snapshot = new Snapshot(kid, Map.of(kid, new KeyEntry(Jwts.SIG.HS256.key().build(), null)), 0);
+            return;
+        }
+        if (!reload()) {
+            throw new IllegalStateException("No se pudo cargar el anillo de llaves JWT desde " + location);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.key-ring.reload-interval-ms:60000}")
+    public void reloadIfModified() {
+        if (!location.isBlank()) {
+            reload();
+        }
+    }
+
+    public String activeKeyId() {
+        return snapshot.activeKid();
+    }
+
+    public SecretKey activeKey() {
+        Snapshot current = snapshot;
+        return current.keys().get(current.activeKid()).key();
+    }
+
+    public SecretKey verificationKey(String kid) {
+        KeyEntry entry = kid == null ? null : snapshot.keys().get(kid);
+        if (entry == null) {
+            throw new JwtException("Llave de firma desconocida: " + kid);
+        }
+        if (entry.expiresAt() != null && entry.expiresAt().isBefore(Instant.now())) {
+            throw new JwtException("Llave de firma expirada: " + kid);
+        }
+        return entry.key();
+    }
+
+    // Momento en que deja de aceptarse la llave, o null si no tiene expires-at
+    public Instant keyExpiresAt(String kid) {
+        KeyEntry entry = kid == null ? null : snapshot.keys().get(kid);
+        return entry == null ? null : entry.expiresAt();
+    }
+
+    // Cambia cada vez que se recarga el anillo, para invalidar lo que se haya verificado con llaves anteriores
+    public long version() {
+        return snapshot.version();
+    }
+
+    private synchronized boolean reload() {
+        Path path = Path.of(location);
+        try {
+            long modified = Files.getLastModifiedTime(path).toMillis();
+            if (modified == lastModified) {
+                return snapshot != null;
+            }
+            // Se registra antes de leer para no reintentar (ni loguear) el mismo archivo inválido en cada ciclo
+            lastModified = modified;
+            Properties properties = new Properties();
+            try (InputStream in = Files.newInputStream(path)) {
+                properties.load(in);
+            }
+            Snapshot loaded = parse(properties, snapshot == null ? 1 : snapshot.version() + 1);
+            snapshot = loaded;
+            logger.info("reload - Anillo de llaves JWT cargado: activa=" + loaded.activeKid() + ", llaves=" + loaded.keys().keySet());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            // Se conserva el anillo anterior si el archivo nuevo es inválido
+            logger.error("reload - No se pudo cargar el anillo de llaves JWT: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static Snapshot parse(Properties properties, long version) {
+        Map<String, KeyEntry> keys = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith("key.") && name.endsWith(".secret")) {
+                String kid = name.substring("key.".length(), name.length() - ".secret".length());
+                SecretKey key = Keys.hmacShaKeyFor(Base64.getDecoder().decode(properties.getProperty(name).trim()));
+                String expiresAt = properties.getProperty("key." + kid + ".expires-at");
+                keys.put(kid, new KeyEntry(key, expiresAt == null ? null : Instant.parse(expiresAt.trim())));
+            }
+        }
+        String active = properties.getProperty("active", "").trim();
+        if (!keys.containsKey(active)) {
+            throw new IllegalArgumentException("La llave activa '" + active + "' no está definida");
+        }
+        return new Snapshot(active, Map.copyOf(keys), version);
+    }
+
+    private record KeyEntry(SecretKey key, Instant expiresAt) {
+    }
+
+    private record Snapshot(String activeKid, Map<String, KeyEntry> keys, long version) {
+    }
+}
@@ -1,19 +1,58 @@
 package com.xplora.backend.configuration;
 
+import com.xplora.backend.authentication.TokenRevocationService;
 import com.xplora.backend.entity.User;
+import com.xplora.backend.utils.BoundedCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.UUID;
 
 @Service
 public class JwtService {
-    private static final SecretKey key = Jwts.SIG.HS256.key().build();
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
+    private final TokenRevocationService tokenRevocationService;
+    private final long accessTokenTtlMs;
+
+    // Claims ya verificados, indexados por el hash del token y válidos hasta que expire el token o su llave
+    private final BoundedCache<String, Claims> claimsCache;
+    private volatile long keyRingVersion;
+
+    public JwtService(JwtKeyRing keyRing,
+                      TokenRevocationService tokenRevocationService,
+                      @Value("${jwt.access-token.ttl-ms:86400000}") long accessTokenTtlMs,
+                      @Value("${jwt.claims-cache.max-size:10000}") int claimsCacheMaxSize) {
+        this.keyRing = keyRing;
+        this.tokenRevocationService = tokenRevocationService;
+        this.accessTokenTtlMs = accessTokenTtlMs;
+        this.claimsCache = new BoundedCache<>(claimsCacheMaxSize);
+        this.keyRingVersion = keyRing.version();
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        return keyRing.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
 
     public String generateToken(UserDetails userDetails) {
         User user = (User) userDetails;
@@ -24,42 +63,57 @@ public class JwtService {
         );
 
         return Jwts.builder()
+                .header().keyId(keyRing.activeKeyId()).and()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
                 .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + 1000*60*60*24))
-                .signWith(key)
+                .expiration(new Date(System.currentTimeMillis() + accessTokenTtlMs))
+                .signWith(keyRing.activeKey())
                 .compact();
     }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    private <T> T extractClaim(String token, Function<Claims, T> claimsTFunction) {
-        final Claims claims = extractAllClaims(token);
-        return claimsTFunction.apply(claims);
-    }
-
-    private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return verifyToken(token).getSubject();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    /**
+     * Verifica firma y expiración una sola vez por token; las siguientes llamadas
+     * con el mismo token se resuelven desde la caché hasta que expire el token o la
+     * llave con que se firmó, lo que ocurra primero. La revocación
+     * se consulta siempre, contra el filtro en memoria.
+     */
+    public Claims verifyToken(String token) {
+        long currentVersion = keyRing.version();
+        if (currentVersion != keyRingVersion) {
+            // Las llaves cambiaron: lo verificado con el anillo anterior se vuelve a comprobar
+            claimsCache.clear();
+            keyRingVersion = currentVersion;
+        }
+        String tokenHash = hash(token);
+        Claims claims = claimsCache.get(tokenHash);
+        if (claims == null) {
+            Jws<Claims> jws = parser.parseSignedClaims(token);
+            claims = jws.getPayload();
+            long expiresAt = claims.getExpiration().getTime();
+            Instant keyExpiresAt = keyRing.keyExpiresAt(jws.getHeader().getKeyId());
+            if (keyExpiresAt != null) {
+                expiresAt = Math.min(expiresAt, keyExpiresAt.toEpochMilli());
+            }
+            claimsCache.put(tokenHash, claims, expiresAt);
+        }
+        if (tokenRevocationService.isRevoked(claims.getId())) {
+            throw new JwtException("Token revocado");
+        }
+        return claims;
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
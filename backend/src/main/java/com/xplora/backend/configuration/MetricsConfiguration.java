@@ -0,0 +1,82 @@
+package com.xplora.backend.configuration;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Buckets de histograma de las rutas (http.server.requests) y de los servicios (xplora.service): los de reserva
+ * y búsqueda usan los límites de sus SLO y el resto unos pocos buckets generales. Prometheus exige el mismo
+ * tipo para todas las series de un nombre, así que ninguna ruta ni servicio queda sin histograma.
+ */
+@Configuration
+public class MetricsConfiguration {
+    private static final String HTTP_REQUESTS = "http.server.requests";
+
+    // Listados de productos que usa el buscador y la página de inicio
+    private static final Set<String> SEARCH_URIS = Set.of(
+            "/api/v1/products",
+            "/api/v1/products/cards",
+            "/api/v1/products/category/{categoryId}",
+            "/api/v1/products/feature/{featureId}",
+            "/api/v1/categories/{categoryId}/products"
+    );
+    private static final Set<String> SEARCH_METHODS = Set.of(
+            "ProductServiceImpl.getAllProducts",
+            "ProductServiceImpl.getProductCards",
+            "ProductServiceImpl.getProductsByCategory",
+            "ProductServiceImpl.getProductsByFeatureId",
+            "CategoryService.getProductsByCategory"
+    );
+
+    @Bean
+    public MeterFilter sloBucketsMeterFilter(@Value("${metrics.slo.booking:100ms,250ms,500ms,1s,2s,5s}") Duration[] booking,
+                                             @Value("${metrics.slo.search:25ms,50ms,100ms,200ms,500ms,1s}") Duration[] search,
+                                             @Value("${metrics.slo.default:50ms,250ms,1s,5s}") Duration[] other) {
+        double[] bookingBuckets = toNanos(booking);
+        double[] searchBuckets = toNanos(search);
+        double[] otherBuckets = toNanos(other);
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HTTP_REQUESTS.equals(id.getName()) && !ServiceMetricsAspect.METRIC_NAME.equals(id.getName())) {
+                    return config;
+                }
+                double[] buckets = isBooking(id) ? bookingBuckets : isSearch(id) ? searchBuckets : otherBuckets;
+                return DistributionStatisticConfig.builder()
+                        .serviceLevelObjectives(buckets)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    private static boolean isBooking(Meter.Id id) {
+        if (HTTP_REQUESTS.equals(id.getName())) {
+            String uri = id.getTag("uri");
+            return uri != null && uri.startsWith("/api/v1/bookings") && !uri.equals("/api/v1/bookings/export");
+        }
+        return ServiceMetricsAspect.METRIC_NAME.equals(id.getName())
+                && "BookingServiceImpl".equals(id.getTag("service"))
+                && !"streamAllBookings".equals(id.getTag("method"));
+    }
+
+    private static boolean isSearch(Meter.Id id) {
+        if (HTTP_REQUESTS.equals(id.getName())) {
+            return "GET".equals(id.getTag("method")) && SEARCH_URIS.contains(id.getTag("uri"));
+        }
+        return ServiceMetricsAspect.METRIC_NAME.equals(id.getName())
+                && SEARCH_METHODS.contains(id.getTag("service") + "." + id.getTag("method"));
+    }
+
+    private static double[] toNanos(Duration[] durations) {
+        return Arrays.stream(durations).mapToDouble(Duration::toNanos).sorted().toArray();
+    }
+}
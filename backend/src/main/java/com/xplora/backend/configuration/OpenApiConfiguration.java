@@ -7,6 +7,7 @@ import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
 import io.swagger.v3.oas.annotations.servers.Server;
+import org.springdoc.core.utils.SpringDocUtils;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 
@@ -42,4 +43,8 @@ import org.springframework.http.HttpHeaders;
         in = SecuritySchemeIn.HEADER
 )
 public class OpenApiConfiguration {
+    static {
+        // El usuario autenticado se resuelve desde el token, no es un parámetro de la API
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(AuthenticatedUser.class);
+    }
 }
@@ -0,0 +1,196 @@
+package com.xplora.backend.configuration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplora.backend.exception.ApiError;
+import com.xplora.backend.utils.TokenBucketRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Aplica las políticas de RateLimitPolicy configuradas en SecurityConfiguration y responde 429 con
+ * Retry-After cuando se agotan los tokens. Va después de JwtAuthenticationFilter para poder usar el
+ * email del usuario autenticado; en login y registro el email se toma del cuerpo JSON.
+ * La IP es getRemoteAddr(): detrás del proxy la resuelve Tomcat desde X-Forwarded-For
+ * (server.forward-headers-strategy=native), solo si la conexión viene de un proxy de confianza.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+
+    private final TokenBucketRateLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final List<RateLimitPolicy> policies;
+
+    public RateLimitFilter(TokenBucketRateLimiter limiter, ObjectMapper objectMapper, List<RateLimitPolicy> policies) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.policies = policies;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        HttpServletRequest current = request;
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitPolicy policy : policies) {
+            if (!policy.method().matches(request.getMethod()) || !policy.path().equals(path)) {
+                continue;
+            }
+            String key;
+            if (policy.keyType() == RateLimitPolicy.KeyType.IP) {
+                key = request.getRemoteAddr();
+            } else {
+                key = authenticatedEmail();
+                if (key == null) {
+                    if (!(current instanceof CachedBodyRequest)) {
+                        current = CachedBodyRequest.of(request);
+                    }
+                    if (current == null) {
+                        // Un cuerpo más grande que el límite no se puede asociar a un email: se rechaza
+                        rejectTooLarge(request, response);
+                        return;
+                    }
+                    key = emailOf((CachedBodyRequest) current);
+                }
+                if (key == null) {
+                    continue;
+                }
+            }
+            long waitNanos = limiter.tryAcquire(policy.name() + "|" + key, policy.capacity(), policy.period().toNanos());
+            if (waitNanos > 0) {
+                reject(request, response, policy, waitNanos);
+                return;
+            }
+        }
+        filterChain.doFilter(current, response);
+    }
+
+    private static String authenticatedEmail() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserDetails userDetails) {
+            return userDetails.getUsername().toLowerCase(Locale.ROOT);
+        }
+        return null;
+    }
+
+    private String emailOf(CachedBodyRequest request) {
+        if (request.body.length > 0) {
+            try {
+                JsonNode email = objectMapper.readTree(request.body).get("email");
+                if (email != null && email.isTextual()) {
+                    return email.asText().trim().toLowerCase(Locale.ROOT);
+                }
+            } catch (IOException e) {
+                // Cuerpo inválido: lo rechazará la validación del controlador
+            }
+        }
+        return null;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        RateLimitPolicy policy, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000);
+        logger.warn("reject - Límite excedido (" + policy.name() + ") para " + request.getRemoteAddr());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                "Demasiadas solicitudes, intente nuevamente en " + retryAfterSeconds + " segundos");
+    }
+
+    private void rejectTooLarge(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        logger.warn("rejectTooLarge - Cuerpo mayor a " + MAX_BODY_BYTES + " bytes en " + request.getRequestURI() + " desde " + request.getRemoteAddr());
+        writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "El cuerpo de la solicitud es demasiado grande");
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        ApiError apiError = new ApiError(
+                request.getRequestURI(),
+                message,
+                status.value(),
+                ZonedDateTime.now(),
+                List.of()
+        );
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), apiError);
+    }
+
+    // Guarda el cuerpo (hasta MAX_BODY_BYTES) para leer el email y volver a entregarlo al controlador.
+    // Se lee el stream sin confiar en Content-Length: un cuerpo chunked (-1) también se limita así
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        // null si el cuerpo supera MAX_BODY_BYTES
+        static CachedBodyRequest of(HttpServletRequest request) throws IOException {
+            byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            return body.length > MAX_BODY_BYTES ? null : new CachedBodyRequest(request, body);
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(getCharacterEncoding());
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.xplora.backend.configuration;
+
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+
+/**
+ * Límite para una ruta: como máximo capacity solicitudes por período, por IP o por email.
+ */
+public record RateLimitPolicy(String name, HttpMethod method, String path, KeyType keyType, long capacity, Duration period) {
+
+    public enum KeyType {
+        IP,
+        EMAIL
+    }
+
+    public static RateLimitPolicy perIp(HttpMethod method, String path, long capacity, Duration period) {
+        return new RateLimitPolicy(method + " " + path + " ip", method, path, KeyType.IP, capacity, period);
+    }
+
+    public static RateLimitPolicy perEmail(HttpMethod method, String path, long capacity, Duration period) {
+        return new RateLimitPolicy(method + " " + path + " email", method, path, KeyType.EMAIL, capacity, period);
+    }
+}
@@ -0,0 +1,35 @@
+package com.xplora.backend.configuration;
+
+import com.xplora.backend.utils.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Usuarios que acaban de escribir (p. ej. una reserva) y cuyas lecturas deben ir a la base principal
+ * durante unos segundos, hasta que la réplica alcance el cambio.
+ */
+@Component
+public class ReadYourWritesTracker {
+    private final BoundedCache<String, Boolean> recentWriters;
+    private final long windowMillis;
+
+    public ReadYourWritesTracker(@Value("${replica.read-your-writes-ms:5000}") long windowMillis,
+                                 @Value("${replica.read-your-writes.max-users:10000}") int maxUsers) {
+        this.recentWriters = new BoundedCache<>(maxUsers);
+        this.windowMillis = windowMillis;
+    }
+
+    public void recordWrite(String username) {
+        if (windowMillis > 0) {
+            recentWriters.put(username, Boolean.TRUE, System.currentTimeMillis() + windowMillis);
+        }
+    }
+
+    // Decide según el usuario autenticado del hilo actual
+    public boolean mustReadFromPrimary() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && recentWriters.get(authentication.getName()) != null;
+    }
+}
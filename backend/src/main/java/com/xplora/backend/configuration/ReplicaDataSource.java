@@ -0,0 +1,90 @@
+package com.xplora.backend.configuration;
+
+import com.xplora.backend.utils.CircuitBreaker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Conexiones para transacciones readOnly. Usa la réplica solo si la transacción la abrió un método de la
+ * capa de servicios: las de los repositorios de Spring Data también son readOnly y sus lecturas suelen
+ * alimentar una escritura (p. ej. el cupo antes de reservar). También va a la principal si la réplica no
+ * está configurada, si el usuario actual acaba de escribir (read-your-writes) o si el circuito está abierto.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements Closeable {
+    private final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+    private final DataSource replica;
+    private final DataSource primary;
+    private final CircuitBreaker circuitBreaker;
+    private final ReadYourWritesTracker readYourWrites;
+    private final String servicePackagePrefix;
+
+    // replica puede ser null: todas las lecturas van a la base principal
+    public ReplicaDataSource(DataSource replica, DataSource primary, CircuitBreaker circuitBreaker,
+                             ReadYourWritesTracker readYourWrites, String servicePackage) {
+        this.replica = replica;
+        this.primary = primary;
+        this.circuitBreaker = circuitBreaker;
+        this.readYourWrites = readYourWrites;
+        this.servicePackagePrefix = servicePackage + ".";
+    }
+
+    public boolean isConfigured() {
+        return replica != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (replica == null || !isServiceTransaction() || circuitBreaker.isOpen() || readYourWrites.mustReadFromPrimary()) {
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            circuitBreaker.recordSuccess();
+            return connection;
+        } catch (SQLException e) {
+            circuitBreaker.recordFailure();
+            logger.warn("getConnection - Réplica no disponible, se lee de la base principal: " + e.getMessage());
+            return primary.getConnection();
+        }
+    }
+
+    // Spring nombra cada transacción con la clase y el método que la abrió
+    private boolean isServiceTransaction() {
+        String name = TransactionSynchronizationManager.getCurrentTransactionName();
+        return name != null && name.startsWith(servicePackagePrefix);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("ReplicaDataSource solo entrega conexiones con las credenciales del pool");
+    }
+
+    // Expone el pool de la réplica para que Actuator publique sus métricas de Hikari
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (!iface.isInstance(this) && replica != null && replica.isWrapperFor(iface)) {
+            return replica.unwrap(iface);
+        }
+        return super.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return super.isWrapperFor(iface) || (replica != null && replica.isWrapperFor(iface));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (replica instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
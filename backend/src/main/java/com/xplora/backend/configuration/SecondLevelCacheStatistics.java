@@ -0,0 +1,47 @@
+package com.xplora.backend.configuration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tasa de aciertos de cada región de la caché de segundo nivel (ehcache.xml), acumulada desde el arranque.
+ * Depende de hibernate.generate_statistics; sin estadísticas no registra nada.
+ */
+@Component
+public class SecondLevelCacheStatistics {
+    private final Logger logger = LoggerFactory.getLogger(SecondLevelCacheStatistics.class);
+    private final Statistics statistics;
+
+    public SecondLevelCacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    // Entre 0 y 1, o -1 si la región todavía no se consultó
+    public double hitRatio(String region) {
+        CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+        long lookups = regionStatistics.getHitCount() + regionStatistics.getMissCount();
+        return lookups == 0 ? -1 : (double) regionStatistics.getHitCount() / lookups;
+    }
+
+    @Scheduled(fixedDelayString = "${cache.statistics.log-interval-ms:300000}", initialDelayString = "${cache.statistics.log-interval-ms:300000}")
+    public void logStatistics() {
+        if (!statistics.isStatisticsEnabled()) {
+            return;
+        }
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            long hits = regionStatistics.getHitCount();
+            long misses = regionStatistics.getMissCount();
+            if (hits + misses > 0) {
+                logger.info(String.format("logStatistics - Región %s: %.1f%% de aciertos (%d aciertos, %d fallos, %d cargas)",
+                        region, 100.0 * hits / (hits + misses), hits, misses, regionStatistics.getPutCount()));
+            }
+        }
+    }
+}
@@ -1,30 +1,91 @@
 package com.xplora.backend.configuration;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplora.backend.utils.TokenBucketRateLimiter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.annotation.web.configurers.HeadersConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.List;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
 public class SecurityConfiguration {
     private final AuthenticationProvider authenticationProvider;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final ObjectMapper objectMapper;
+
+    @Bean
+    public TokenBucketRateLimiter rateLimiter(@Value("${rate-limit.stripes:64}") int stripes,
+                                              @Value("${rate-limit.max-keys-per-stripe:1024}") int maxKeysPerStripe,
+                                              @Value("${rate-limit.idle-eviction-ms:600000}") long idleEvictionMs) {
+        return new TokenBucketRateLimiter(stripes, maxKeysPerStripe, idleEvictionMs);
+    }
+
+    // Límites por ruta; las políticas por email usan el usuario autenticado o el email del cuerpo
+    private List<RateLimitPolicy> rateLimitPolicies() {
+        return List.of(
+                RateLimitPolicy.perIp(HttpMethod.POST, "/api/v1/auth/login", 20, Duration.ofMinutes(1)),
+                RateLimitPolicy.perEmail(HttpMethod.POST, "/api/v1/auth/login", 5, Duration.ofMinutes(1)),
+                RateLimitPolicy.perIp(HttpMethod.POST, "/api/v1/auth/register", 5, Duration.ofMinutes(10)),
+                RateLimitPolicy.perEmail(HttpMethod.POST, "/api/v1/auth/register", 3, Duration.ofMinutes(10)),
+                RateLimitPolicy.perIp(HttpMethod.POST, "/api/v1/auth/refresh", 30, Duration.ofMinutes(1)),
+                RateLimitPolicy.perIp(HttpMethod.POST, "/api/v1/bookings", 20, Duration.ofMinutes(1)),
+                RateLimitPolicy.perEmail(HttpMethod.POST, "/api/v1/bookings", 10, Duration.ofMinutes(1))
+        );
+    }
+
+    // /actuator/prometheus solo con HTTP Basic del scraper (metrics.scrape.*); sin contraseña configurada queda cerrado
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsSecurityFilterChain(HttpSecurity http,
+                                                          @Value("${metrics.scrape.username:prometheus}") String username,
+                                                          @Value("${metrics.scrape.password:}") String password) throws Exception {
+        byte[] expected = password.getBytes(StandardCharsets.UTF_8);
+        AuthenticationManager scraper = authentication -> {
+            byte[] given = String.valueOf(authentication.getCredentials()).getBytes(StandardCharsets.UTF_8);
+            if (password.isEmpty() || !username.equals(authentication.getName()) || !MessageDigest.isEqual(given, expected)) {
+                throw new BadCredentialsException("Credenciales de métricas inválidas");
+            }
+            return UsernamePasswordAuthenticationToken.authenticated(username, null, List.of(new SimpleGrantedAuthority("METRICS")));
+        };
+        return http.securityMatcher("/actuator/prometheus")
+                .authorizeHttpRequests(auth -> auth.anyRequest().hasAuthority("METRICS"))
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(scraper)
+                .csrf(AbstractHttpConfigurer::disable)
+                .sessionManagement(management -> management.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .build();
+    }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenBucketRateLimiter rateLimiter) throws Exception {
         return http.authorizeHttpRequests(
                 auth -> {
                     //auth.anyRequest().permitAll();
+                    // El redespacho ASYNC de las respuestas en streaming ya se autorizó en la petición original
+                    auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll();
                     auth.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll();
                     auth.requestMatchers("/api/v1/auth/**").permitAll();
                     auth.requestMatchers("/h2-console/**").permitAll();
@@ -34,6 +95,11 @@ public class SecurityConfiguration {
                     auth.requestMatchers(HttpMethod.GET, "/v3/api-docs/**").permitAll();
                     auth.requestMatchers(HttpMethod.GET, "/swagger-ui.html").permitAll();
 
+                    // Salud para el balanceador; las métricas tienen su propia cadena (metricsSecurityFilterChain)
+                    auth.requestMatchers(HttpMethod.GET, "/actuator/health").permitAll();
+
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/products/popularity").hasAnyAuthority("ADMIN", "SUPERADMIN");
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/products/export").hasAnyAuthority("ADMIN", "SUPERADMIN");
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/products/**").permitAll();
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/products/**").hasAnyAuthority("ADMIN", "SUPERADMIN");
                     auth.requestMatchers(HttpMethod.PUT, "/api/v1/products/**").hasAnyAuthority("ADMIN", "SUPERADMIN");
@@ -43,8 +109,11 @@ public class SecurityConfiguration {
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/images/**").hasAnyAuthority("ADMIN", "SUPERADMIN");
 
                     auth.requestMatchers("/api/v1/users").hasAnyAuthority("ADMIN", "SUPERADMIN");
+                    auth.requestMatchers("/api/v1/users/export").hasAnyAuthority("ADMIN", "SUPERADMIN");
                     auth.requestMatchers("/api/v1/users/*/role/**").hasAnyAuthority("ADMIN", "SUPERADMIN");
 
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/bootstrap").permitAll();
+
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/cities/**").permitAll();
                     auth.requestMatchers(HttpMethod.POST, "/api/v1/cities/**").hasAnyAuthority("ADMIN", "SUPERADMIN");
 
@@ -63,6 +132,7 @@ public class SecurityConfiguration {
                     auth.requestMatchers(HttpMethod.DELETE, "/api/v1/features/**").hasAnyAuthority("ADMIN", "SUPERADMIN");
 
                     auth.requestMatchers(HttpMethod.GET, "/api/v1/bookings/product/**").hasAnyAuthority("ADMIN", "SUPERADMIN");
+                    auth.requestMatchers(HttpMethod.GET, "/api/v1/bookings/export").hasAnyAuthority("ADMIN", "SUPERADMIN");
 
                     // Todos los demás endpoints requieren autenticación
                     //auth.requestMatchers("/api/v1/users/profile/**").authenticated();
@@ -71,6 +141,7 @@ public class SecurityConfiguration {
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(management -> management.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimiter, objectMapper, rateLimitPolicies()), UsernamePasswordAuthenticationFilter.class)
                 .authenticationProvider(authenticationProvider)
                 .headers(headers -> headers.frameOptions(HeadersConfigurer.FrameOptionsConfig::disable)) // Solución para h2-console
                 .build();
@@ -0,0 +1,77 @@
+package com.xplora.backend.configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sentencias, filas y tiempo de base de datos de la petición HTTP en curso. Lo abre SqlProfilingFilter en el
+ * hilo de la petición; fuera de una petición (tareas programadas, exportaciones en streaming) no hay perfil
+ * activo y no se cuenta nada.
+ */
+public final class SqlProfile {
+    private static final ThreadLocal<SqlProfile> CURRENT = new ThreadLocal<>();
+    // Sentencias distintas que se recuerdan para señalar la más repetida (el patrón típico de un N+1)
+    private static final int MAX_DISTINCT_STATEMENTS = 200;
+
+    private final boolean countingReadRows;
+    private int statements;
+    private long rows;
+    private long nanos;
+    private final Map<String, Integer> executions = new HashMap<>();
+
+    private SqlProfile(boolean countingReadRows) {
+        this.countingReadRows = countingReadRows;
+    }
+
+    // Sin countingReadRows no se envuelven los ResultSet: solo se suman las filas modificadas
+    static SqlProfile start(boolean countingReadRows) {
+        SqlProfile profile = new SqlProfile(countingReadRows);
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static void stop() {
+        CURRENT.remove();
+    }
+
+    // null si el hilo no está atendiendo una petición
+    static SqlProfile current() {
+        return CURRENT.get();
+    }
+
+    boolean isCountingReadRows() {
+        return countingReadRows;
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        if (executions.size() < MAX_DISTINCT_STATEMENTS || executions.containsKey(sql)) {
+            executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordRows(long count) {
+        rows += count;
+    }
+
+    void recordNanos(long elapsed) {
+        nanos += elapsed;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getMillis() {
+        return nanos / 1_000_000;
+    }
+
+    // La sentencia que más veces se preparó, o null si no hubo ninguna
+    public Map.Entry<String, Integer> mostRepeated() {
+        return executions.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+}
@@ -0,0 +1,130 @@
+package com.xplora.backend.configuration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.*;
+
+/**
+ * Mide el tiempo de ejecución y las filas leídas o modificadas de cada sentencia JDBC y los suma al perfil de
+ * la petición en curso. Solo envuelve las conexiones que se piden durante una petición; el resto se entregan
+ * tal cual, sin costo. Los ResultSet (un proxy por next()) solo se envuelven si el perfil cuenta filas leídas.
+ */
+public class SqlProfilingDataSource extends DelegatingDataSource {
+
+    public SqlProfilingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return profiled(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return profiled(super.getConnection(username, password));
+    }
+
+    private static Connection profiled(Connection connection) {
+        SqlProfile profile = SqlProfile.current();
+        return profile == null ? connection : proxy(Connection.class, connection, new ConnectionHandler(connection, profile));
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlProfilingDataSource.class.getClassLoader(), new Class<?>[]{type}, handler));
+    }
+
+    // equals y hashCode por identidad del proxy: Hibernate guarda Statement y ResultSet en mapas
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // Envuelve los Statement que crea la conexión; el resto de los métodos se delegan sin cambios
+    private record ConnectionHandler(Connection connection, SqlProfile profile) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlProfilingDataSource.invoke(proxy, connection, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, statement, new StatementHandler(statement, profile));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, statement, new StatementHandler(statement, profile));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, statement, new StatementHandler(statement, profile));
+            }
+            return result;
+        }
+    }
+
+    // Cronometra los execute* y suma las filas modificadas; los ResultSet se envuelven si se cuentan las leídas
+    private record StatementHandler(Statement statement, SqlProfile profile) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return wrapResultSet(proxy, SqlProfilingDataSource.invoke(proxy, statement, method, args));
+            }
+            long start = System.nanoTime();
+            try {
+                Object result = SqlProfilingDataSource.invoke(proxy, statement, method, args);
+                if (result instanceof Integer count && count > 0) {
+                    profile.recordRows(count);
+                } else if (result instanceof Long count && count > 0) {
+                    profile.recordRows(count);
+                } else if (result instanceof int[] counts) {
+                    for (int count : counts) {
+                        profile.recordRows(Math.max(count, 0));
+                    }
+                }
+                return wrapResultSet(proxy, result);
+            } finally {
+                profile.recordNanos(System.nanoTime() - start);
+            }
+        }
+
+        private Object wrapResultSet(Object statementProxy, Object result) {
+            if (result instanceof ResultSet resultSet && profile.isCountingReadRows()) {
+                return proxy(ResultSet.class, resultSet, new ResultSetHandler(resultSet, statementProxy, profile));
+            }
+            return result;
+        }
+    }
+
+    // Con useCursorFetch las filas llegan por bloques durante next(): ese tiempo también es de la base
+    private record ResultSetHandler(ResultSet resultSet, Object statementProxy, SqlProfile profile) implements InvocationHandler {
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getName().equals("getStatement")) {
+                return statementProxy;
+            }
+            if (!method.getName().equals("next")) {
+                return SqlProfilingDataSource.invoke(proxy, resultSet, method, args);
+            }
+            long start = System.nanoTime();
+            try {
+                Object hasRow = SqlProfilingDataSource.invoke(proxy, resultSet, method, args);
+                if (Boolean.TRUE.equals(hasRow)) {
+                    profile.recordRows(1);
+                }
+                return hasRow;
+            } finally {
+                profile.recordNanos(System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.xplora.backend.configuration;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * Perfil SQL de cada petición (SqlProfile): sentencias preparadas por Hibernate, filas y tiempo de base.
+ * Con sql.profiler.headers lo devuelve en X-Sql-Statements, X-Sql-Rows y X-Sql-Time-Ms, escritos antes del
+ * primer byte del cuerpo; sin open-in-view el servicio ya terminó sus consultas en ese punto.
+ * Si se supera algún umbral registra un warning con el endpoint y la sentencia más repetida; con
+ * sql.profiler.warn.rows=0 y sin cabeceras no se cuentan las filas leídas ni se envuelven los ResultSet.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlProfilingFilter extends OncePerRequestFilter {
+    private final boolean headers;
+    private final int maxStatements;
+    private final long maxRows;
+    private final long maxMillis;
+
+    public SqlProfilingFilter(@Value("${sql.profiler.headers:false}") boolean headers,
+                              @Value("${sql.profiler.warn.statements:20}") int maxStatements,
+                              @Value("${sql.profiler.warn.rows:5000}") long maxRows,
+                              @Value("${sql.profiler.warn.time-ms:500}") long maxMillis) {
+        this.headers = headers;
+        this.maxStatements = maxStatements;
+        this.maxRows = maxRows;
+        this.maxMillis = maxMillis;
+    }
+
+    private boolean countsReadRows() {
+        return headers || maxRows > 0;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlProfile profile = SqlProfile.start(countsReadRows());
+        ProfileHeaderResponse profiledResponse = headers ? new ProfileHeaderResponse(response, profile) : null;
+        try {
+            filterChain.doFilter(request, profiledResponse != null ? profiledResponse : response);
+        } finally {
+            SqlProfile.stop();
+            // Las respuestas en streaming se escriben en otro hilo: ahí las cabeceras salen con el primer byte
+            if (profiledResponse != null && !request.isAsyncStarted()) {
+                profiledResponse.writeHeaders();
+            }
+            warnIfExceeded(request, profile);
+        }
+    }
+
+    private void warnIfExceeded(HttpServletRequest request, SqlProfile profile) {
+        boolean rowsExceeded = maxRows > 0 && profile.getRows() > maxRows;
+        if (profile.getStatements() <= maxStatements && !rowsExceeded && profile.getMillis() <= maxMillis) {
+            return;
+        }
+        // Plantilla de la ruta (/api/v1/products/{id}) cuando Spring MVC la resolvió
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        Map.Entry<String, Integer> mostRepeated = profile.mostRepeated();
+        logger.warn("warnIfExceeded - " + endpoint + ": " + profile.getStatements() + " sentencias, "
+                + profile.getRows() + " filas, " + profile.getMillis() + " ms de base de datos (umbrales: "
+                + maxStatements + " sentencias, " + maxRows + " filas, " + maxMillis + " ms)"
+                + (mostRepeated != null && mostRepeated.getValue() > 1
+                ? "; la más repetida (" + mostRepeated.getValue() + " veces): " + mostRepeated.getKey() : ""));
+    }
+
+    // Agrega las cabeceras justo antes de que se confirme la respuesta, cuando todavía se pueden escribir
+    private static final class ProfileHeaderResponse extends HttpServletResponseWrapper {
+        private final SqlProfile profile;
+        private boolean written;
+
+        ProfileHeaderResponse(HttpServletResponse response, SqlProfile profile) {
+            super(response);
+            this.profile = profile;
+        }
+
+        void writeHeaders() {
+            if (written || isCommitted()) {
+                return;
+            }
+            written = true;
+            setHeader("X-Sql-Statements", String.valueOf(profile.getStatements()));
+            setHeader("X-Sql-Rows", String.valueOf(profile.getRows()));
+            setHeader("X-Sql-Time-Ms", String.valueOf(profile.getMillis()));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeaders();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeHeaders();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.xplora.backend.configuration;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta cada sentencia que Hibernate prepara en el perfil de la petición en curso, sin modificarla.
+ * Se registra con hibernate.session_factory.statement_inspector; Hibernate la instancia por nombre de clase.
+ * Las sentencias de JdbcTemplate (ProductChildrenWriter) no pasan por aquí: solo suman filas y tiempo.
+ */
+public class SqlProfilingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlProfile profile = SqlProfile.current();
+        if (profile != null) {
+            profile.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,39 @@
+package com.xplora.backend.configuration;
+
+import com.xplora.backend.utils.BoundedCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Usuarios autenticados por email con un TTL corto, para no consultar la base de datos
+ * en cada request y aun así reflejar cambios de rol en pocos segundos.
+ */
+@Component
+public class UserPrincipalCache {
+    private final UserDetailsService userDetailsService;
+    private final BoundedCache<String, UserDetails> users;
+    private final long ttlMillis;
+
+    public UserPrincipalCache(UserDetailsService userDetailsService,
+                              @Value("${jwt.user-cache.max-size:10000}") int maxSize,
+                              @Value("${jwt.user-cache.ttl-ms:30000}") long ttlMillis) {
+        this.userDetailsService = userDetailsService;
+        this.users = new BoundedCache<>(maxSize);
+        this.ttlMillis = ttlMillis;
+    }
+
+    public UserDetails get(String email) {
+        UserDetails user = users.get(email);
+        if (user == null) {
+            user = userDetailsService.loadUserByUsername(email);
+            users.put(email, user, System.currentTimeMillis() + ttlMillis);
+        }
+        return user;
+    }
+
+    public void evict(String email) {
+        users.remove(email);
+    }
+}
@@ -1,17 +1,21 @@
 package com.xplora.backend.controller;
 
+import com.xplora.backend.configuration.AuthenticatedUser;
 import com.xplora.backend.dto.request.BookingRequestDto;
 import com.xplora.backend.dto.response.BookingResponseDto;
 import com.xplora.backend.entity.User;
 import com.xplora.backend.service.IBookingService;
-import com.xplora.backend.service.IUserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplora.backend.utils.JsonStreamWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.mail.MessagingException;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -19,18 +23,17 @@ import java.util.List;
 @RequestMapping("api/v1/bookings")
 public class BookingController {
     private IBookingService bookingService;
-    private IUserService userService;
+    private ObjectMapper objectMapper;
 
-    public BookingController(IBookingService bookingService, IUserService userService) {
+    public BookingController(IBookingService bookingService, ObjectMapper objectMapper) {
         this.bookingService = bookingService;
-        this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @PostMapping
-    public ResponseEntity<BookingResponseDto> saveBookingOfAuthenticatedUser(@RequestHeader("Authorization") String authHeader,
+    public ResponseEntity<BookingResponseDto> saveBookingOfAuthenticatedUser(@AuthenticatedUser User user,
                                                                              @RequestBody @Valid BookingRequestDto bookingRequestDto) throws MessagingException {
-        User user = userService.getAuthenticatedUser(authHeader);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(bookingService.saveBooking(bookingRequestDto, user));
@@ -38,12 +41,21 @@ public class BookingController {
 
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @GetMapping("/user")
-    public ResponseEntity<List<BookingResponseDto>> getBookingsByAuthenticatedUser(@RequestHeader("Authorization") String authHeader) {
-        User user = userService.getAuthenticatedUser(authHeader);
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByAuthenticatedUser(@AuthenticatedUser User user) {
         return ResponseEntity
                 .ok(bookingService.getBookingsByUserId(user.getId()));
     }
 
+    @Operation(security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+        StreamingResponseBody body = out -> bookingService.streamAllBookings(JsonStreamWriter.arrayTo(out, objectMapper));
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @GetMapping("/product/{productId}")
     public ResponseEntity<List<BookingResponseDto>> getBookingsByProductId(@PathVariable Long productId) {
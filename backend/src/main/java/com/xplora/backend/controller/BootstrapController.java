@@ -0,0 +1,39 @@
+package com.xplora.backend.controller;
+
+import com.xplora.backend.service.implementation.ReferenceDataService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+@RestController
+@RequestMapping("/api/v1/bootstrap")
+public class BootstrapController {
+
+    private final ReferenceDataService referenceDataService;
+
+    public BootstrapController(ReferenceDataService referenceDataService) {
+        this.referenceDataService = referenceDataService;
+    }
+
+    // Categorías, ciudades y características en una sola respuesta; el cliente revalida con If-None-Match
+    @GetMapping
+    public ResponseEntity<byte[]> getBootstrap(WebRequest request) {
+        ReferenceDataService.Snapshot snapshot = referenceDataService.getSnapshot();
+        if (request.checkNotModified(snapshot.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(snapshot.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(snapshot.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.json());
+    }
+}
@@ -1,8 +1,8 @@
 package com.xplora.backend.controller;
 
+import com.xplora.backend.configuration.AuthenticatedUser;
 import com.xplora.backend.entity.User;
 import com.xplora.backend.service.IEmailService;
-import com.xplora.backend.service.IUserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.mail.MessagingException;
@@ -13,17 +13,14 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("api/v1/send-email")
 public class EmailController {
     private IEmailService emailService;
-    private IUserService userService;
 
-    public EmailController(IEmailService emailService, IUserService userService) {
+    public EmailController(IEmailService emailService) {
         this.emailService = emailService;
-        this.userService = userService;
     }
 
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @GetMapping("/welcome")
-    private ResponseEntity<String> sendEmailWelcomeToAuthenticatedUser(@RequestHeader("Authorization") String authHeader) throws MessagingException {
-        User user = userService.getAuthenticatedUser(authHeader);
+    private ResponseEntity<String> sendEmailWelcomeToAuthenticatedUser(@AuthenticatedUser User user) throws MessagingException {
         emailService.sendMailWelcome(user);
         return ResponseEntity
                 .ok("Correo enviado exitosamente");
@@ -1,10 +1,10 @@
 package com.xplora.backend.controller;
 
+import com.xplora.backend.configuration.AuthenticatedUser;
+import com.xplora.backend.dto.response.FavoriteToggleResponseDto;
 import com.xplora.backend.entity.Favorite;
 import com.xplora.backend.entity.User;
 import com.xplora.backend.service.implementation.FavoriteServiceImpl;
-import com.xplora.backend.service.IUserService;
-import com.xplora.backend.configuration.JwtService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +13,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/v1/favorites")
@@ -21,42 +22,53 @@ public class FavoriteController {
     @Autowired
     private FavoriteServiceImpl favoriteService;
 
-    @Autowired
-    private IUserService userService;
-
-    @Autowired
-    private JwtService jwtService;
-
-    private User getAuthenticatedUser(String token) {
-        String email = jwtService.extractUsername(token.replace("Bearer ", ""));
-        return userService.getUserByEmail(email);
-    }
-
     // AÑADIR A FAVORITOS
     @PreAuthorize("isAuthenticated()")
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @PostMapping("/{productId}")
-    public ResponseEntity<String> addFavorite(@RequestHeader("Authorization") String token, @PathVariable Long productId) {
-        User user = getAuthenticatedUser(token);
+    public ResponseEntity<String> addFavorite(@AuthenticatedUser User user, @PathVariable Long productId) {
         favoriteService.addFavorite(user.getId(), productId);
         return ResponseEntity.ok("Producto agregado a favoritos");
     }
 
+    // AGREGAR O QUITAR DE FAVORITOS
+    @PreAuthorize("isAuthenticated()")
+    @Operation(security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/{productId}/toggle")
+    public ResponseEntity<FavoriteToggleResponseDto> toggleFavorite(@AuthenticatedUser User user, @PathVariable Long productId) {
+        return ResponseEntity.ok(favoriteService.toggleFavorite(user.getId(), productId));
+    }
+
     //  LISTAR FAVORITOS DEL USUARIO AUTENTICADO
     @PreAuthorize("isAuthenticated()")
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @GetMapping
-    public ResponseEntity<List<Favorite>> getFavorites(@RequestHeader("Authorization") String token) {
-        User user = getAuthenticatedUser(token);
+    public ResponseEntity<List<Favorite>> getFavorites(@AuthenticatedUser User user) {
         return ResponseEntity.ok(favoriteService.getFavorites(user.getId()));
     }
 
+    // IDS DE LOS PRODUCTOS FAVORITOS DEL USUARIO AUTENTICADO
+    @PreAuthorize("isAuthenticated()")
+    @Operation(security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/ids")
+    public ResponseEntity<long[]> getFavoriteProductIds(@AuthenticatedUser User user) {
+        return ResponseEntity.ok(favoriteService.getFavoriteProductIds(user.getId()));
+    }
+
+    // VERIFICAR SI VARIOS PRODUCTOS ESTÁN EN FAVORITOS
+    @PreAuthorize("isAuthenticated()")
+    @Operation(security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/check")
+    public ResponseEntity<Map<Long, Boolean>> checkFavorites(@AuthenticatedUser User user,
+                                                             @RequestParam List<Long> productIds) {
+        return ResponseEntity.ok(favoriteService.areFavorites(user.getId(), productIds));
+    }
+
     // ELIMINAR UN FAVORITO POR ID
     @PreAuthorize("isAuthenticated()")
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @DeleteMapping("/{favoriteId}")
-    public ResponseEntity<String> removeFavorite(@RequestHeader("Authorization") String token, @PathVariable Long favoriteId) {
-        User user = getAuthenticatedUser(token);
+    public ResponseEntity<String> removeFavorite(@AuthenticatedUser User user, @PathVariable Long favoriteId) {
         favoriteService.removeFavorite(user.getId(), favoriteId);
         return ResponseEntity.ok("Producto eliminado de favoritos");
     }
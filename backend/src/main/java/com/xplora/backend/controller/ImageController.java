@@ -1,13 +1,26 @@
 package com.xplora.backend.controller;
 
+import com.xplora.backend.dto.request.ImageBatchRequestDto;
 import com.xplora.backend.entity.Image;
 import com.xplora.backend.service.implementation.ImageService;
+import com.xplora.backend.service.implementation.ImageStorageService;
+import com.xplora.backend.utils.FileRangeResponder;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
 
@@ -16,9 +29,14 @@ import java.util.Map;
 public class ImageController {
 
     private final ImageService imageService;
+    private final ImageStorageService imageStorageService;
+    private final String publicBaseUrl;
 
-    public ImageController(ImageService imageService) {
+    public ImageController(ImageService imageService, ImageStorageService imageStorageService,
+                           @Value("${images.public-base-url:}") String publicBaseUrl) {
         this.imageService = imageService;
+        this.imageStorageService = imageStorageService;
+        this.publicBaseUrl = publicBaseUrl;
     }
 
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
@@ -35,6 +53,39 @@ public class ImageController {
         return ResponseEntity.status(HttpStatus.CREATED).body(image);
     }
 
+    @Operation(security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping("/{productId}/batch")
+    public ResponseEntity<List<Image>> uploadImages(@PathVariable Long productId,
+                                                    @RequestBody @Valid ImageBatchRequestDto request) {
+        List<Image> images = imageService.saveImages(productId, request.getImageUrls());
+        return ResponseEntity.status(HttpStatus.CREATED).body(images);
+    }
+
+    @Operation(security = @SecurityRequirement(name = "bearerAuth"))
+    @PostMapping(value = "/{productId}/file", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<Image> uploadImageFile(@PathVariable Long productId,
+                                                 @RequestParam("file") MultipartFile file,
+                                                 @RequestParam(required = false) Integer displayOrder) throws IOException {
+        // Sin url pública configurada se usa la del propio backend
+        String baseUrl = publicBaseUrl.isBlank()
+                ? ServletUriComponentsBuilder.fromCurrentContextPath().toUriString()
+                : publicBaseUrl;
+        try (InputStream content = file.getInputStream()) {
+            Image image = imageService.saveImageFile(productId, content, displayOrder, baseUrl);
+            return ResponseEntity.status(HttpStatus.CREATED).body(image);
+        }
+    }
+
+    // El nombre es el hash del contenido, así que la respuesta se puede cachear para siempre
+    @GetMapping("/content/{fileName}")
+    public void getImageContent(@PathVariable String fileName,
+                                HttpServletRequest request,
+                                HttpServletResponse response) throws IOException {
+        Path path = imageStorageService.resolve(fileName);
+        String etag = "\"" + fileName.substring(0, fileName.indexOf('.')) + "\"";
+        FileRangeResponder.serve(path, ImageStorageService.contentType(fileName), etag, request, response);
+    }
+
     @GetMapping("/{productId}")
     public ResponseEntity<List<Image>> getImagesByProduct(@PathVariable Long productId) {
         List<Image> images = imageService.getImagesByProduct(productId);
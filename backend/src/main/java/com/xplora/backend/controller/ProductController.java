@@ -1,15 +1,22 @@
 package com.xplora.backend.controller;
 
 import com.xplora.backend.dto.request.ProductRequestDto;
+import com.xplora.backend.dto.response.ProductCardResponseDto;
+import com.xplora.backend.dto.response.ProductPopularityResponseDto;
 import com.xplora.backend.dto.response.ProductResponseDto;
 import com.xplora.backend.entity.Product;
+import com.xplora.backend.service.IPopularityService;
 import com.xplora.backend.service.IProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplora.backend.utils.JsonStreamWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,9 +24,13 @@ import java.util.List;
 @RequestMapping("api/v1/products")
 public class ProductController {
     private IProductService productService;
+    private IPopularityService popularityService;
+    private ObjectMapper objectMapper;
 
-    public ProductController(IProductService productService) {
+    public ProductController(IProductService productService, IPopularityService popularityService, ObjectMapper objectMapper) {
         this.productService = productService;
+        this.popularityService = popularityService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
@@ -42,6 +53,30 @@ public class ProductController {
                 .ok(productService.getAllProducts());
     }
 
+    // Igual que getAllProducts pero escrito desde un cursor, con memoria constante sin importar la cantidad
+    @Operation(security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts() {
+        StreamingResponseBody body = out -> productService.streamAllProducts(JsonStreamWriter.arrayTo(out, objectMapper));
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/cards")
+    public ResponseEntity<List<ProductCardResponseDto>> getProductCards() {
+        return ResponseEntity
+                .ok(productService.getProductCards());
+    }
+
+    @Operation(security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/popularity")
+    public ResponseEntity<List<ProductPopularityResponseDto>> getPopularity() {
+        return ResponseEntity
+                .ok(popularityService.getAllPopularity());
+    }
+
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponseDto> updateProduct(@PathVariable Long id,
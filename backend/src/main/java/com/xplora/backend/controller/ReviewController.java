@@ -1,10 +1,10 @@
 package com.xplora.backend.controller;
 
+import com.xplora.backend.configuration.AuthenticatedUser;
 import com.xplora.backend.dto.request.ReviewRequestDto;
 import com.xplora.backend.dto.response.ReviewResponseDto;
 import com.xplora.backend.entity.User;
 import com.xplora.backend.service.IReviewService;
-import com.xplora.backend.service.IUserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
@@ -18,19 +18,16 @@ import java.util.List;
 @RequestMapping("api/v1/reviews")
 public class ReviewController {
     private IReviewService reviewService;
-    private IUserService userService;
 
-    public ReviewController(IReviewService reviewService, IUserService userService) {
+    public ReviewController(IReviewService reviewService) {
         this.reviewService = reviewService;
-        this.userService = userService;
     }
 
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @PostMapping("/booking/{bookingId}")
     public ResponseEntity<ReviewResponseDto> saveReview(@PathVariable Long bookingId,
-                                                        @RequestHeader("Authorization") String authHeader,
+                                                        @AuthenticatedUser User user,
                                                         @RequestBody @Valid ReviewRequestDto reviewRequestDto) {
-        User user = userService.getAuthenticatedUser(authHeader);
         return ResponseEntity
                 .status(HttpStatus.CREATED)
                 .body(reviewService.saveReview(bookingId, reviewRequestDto, user));
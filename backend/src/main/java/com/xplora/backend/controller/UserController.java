@@ -1,15 +1,20 @@
 package com.xplora.backend.controller;
 
+import com.xplora.backend.configuration.AuthenticatedUser;
 import com.xplora.backend.dto.request.UserRoleRequestDto;
 import com.xplora.backend.dto.response.UserResponseDto;
 import com.xplora.backend.entity.User;
 import com.xplora.backend.service.IUserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplora.backend.utils.JsonStreamWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,9 +22,11 @@ import java.util.List;
 @RequestMapping("api/v1/users")
 public class UserController {
     private IUserService userService;
+    private ObjectMapper objectMapper;
 
-    public UserController(IUserService userService) {
+    public UserController(IUserService userService, ObjectMapper objectMapper) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
     }
 
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
@@ -29,6 +36,16 @@ public class UserController {
                 .ok(userService.getAllUsers());
     }
 
+    @Operation(security = @SecurityRequirement(name = "bearerAuth"))
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = out -> userService.streamAllUsers(JsonStreamWriter.arrayTo(out, objectMapper));
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @PutMapping("/{id}/role")
     public ResponseEntity<?> updateUserRole(@PathVariable Long id,
@@ -40,8 +57,8 @@ public class UserController {
 
     @Operation(security = @SecurityRequirement(name = "bearerAuth"))
     @GetMapping("/profile")
-    public ResponseEntity<User> getAuthenticatedUser(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<User> getAuthenticatedUser(@AuthenticatedUser User user) {
         return ResponseEntity
-                .ok(userService.getAuthenticatedUser(authHeader));
+                .ok(user);
     }
 }
@@ -0,0 +1,22 @@
+package com.xplora.backend.dto.mapper;
+
+import com.xplora.backend.dto.request.AvailabilityRequestDto;
+import com.xplora.backend.dto.response.AvailabilityResponseDto;
+import com.xplora.backend.entity.Availability;
+
+public final class AvailabilityMapper {
+
+    private AvailabilityMapper() {
+    }
+
+    // El producto y la capacidad restante los asigna el servicio
+    public static Availability toEntity(AvailabilityRequestDto availabilityRequestDto) {
+        Availability availability = new Availability();
+        availability.setDate(availabilityRequestDto.getDate());
+        return availability;
+    }
+
+    public static AvailabilityResponseDto toResponse(Availability availability) {
+        return new AvailabilityResponseDto(availability.getId(), availability.getDate(), availability.getRemainingCapacity());
+    }
+}
@@ -0,0 +1,33 @@
+package com.xplora.backend.dto.mapper;
+
+import com.xplora.backend.dto.request.BookingRequestDto;
+import com.xplora.backend.dto.response.AvailabilityResponseDto;
+import com.xplora.backend.dto.response.BookingResponseDto;
+import com.xplora.backend.entity.Booking;
+
+public final class BookingMapper {
+
+    private BookingMapper() {
+    }
+
+    // Usuario, producto y fecha los asigna el servicio después de validar la disponibilidad
+    public static Booking toEntity(BookingRequestDto bookingRequestDto) {
+        Booking booking = new Booking();
+        booking.setQuantity(bookingRequestDto.getQuantity());
+        return booking;
+    }
+
+    public static BookingResponseDto toResponse(Booking booking) {
+        BookingResponseDto bookingResponseDto = new BookingResponseDto();
+        bookingResponseDto.setId(booking.getId());
+        bookingResponseDto.setStatus(booking.getStatus());
+        bookingResponseDto.setQuantity(booking.getQuantity());
+        bookingResponseDto.setCreatedAt(booking.getCreatedAt());
+        bookingResponseDto.setUpdatedAt(booking.getUpdatedAt());
+        bookingResponseDto.setAvailability(new AvailabilityResponseDto(null, booking.getDate(), null));
+        bookingResponseDto.setUser(UserMapper.toResponse(booking.getUser()));
+        bookingResponseDto.setProduct(ProductMapper.toResponseWithoutAvailabilities(booking.getProduct()));
+        bookingResponseDto.setReview(ReviewMapper.toResponse(booking.getReview()));
+        return bookingResponseDto;
+    }
+}
@@ -0,0 +1,25 @@
+package com.xplora.backend.dto.mapper;
+
+import com.xplora.backend.dto.request.CityRequestDto;
+import com.xplora.backend.dto.response.CityResponseDto;
+import com.xplora.backend.entity.City;
+
+public final class CityMapper {
+
+    private CityMapper() {
+    }
+
+    public static City toEntity(CityRequestDto cityRequestDto) {
+        City city = new City();
+        city.setName(cityRequestDto.getName());
+        city.setCountry(cityRequestDto.getCountry());
+        return city;
+    }
+
+    public static CityResponseDto toResponse(City city) {
+        if (city == null) {
+            return null;
+        }
+        return new CityResponseDto(city.getId(), city.getName(), city.getCountry());
+    }
+}
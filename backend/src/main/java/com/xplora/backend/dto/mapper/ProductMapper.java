@@ -0,0 +1,78 @@
+package com.xplora.backend.dto.mapper;
+
+import com.xplora.backend.dto.request.ProductRequestDto;
+import com.xplora.backend.dto.response.AvailabilityResponseDto;
+import com.xplora.backend.dto.response.ProductResponseDto;
+import com.xplora.backend.entity.Availability;
+import com.xplora.backend.entity.Image;
+import com.xplora.backend.entity.Product;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public final class ProductMapper {
+
+    private ProductMapper() {
+    }
+
+    // Copia solo los campos simples y las colecciones propias; ciudad, categoría y características las resuelve el servicio
+    public static Product toEntity(ProductRequestDto productRequestDto) {
+        Product product = new Product();
+        product.setName(productRequestDto.getName());
+        product.setDescription(productRequestDto.getDescription());
+        product.setPrice(productRequestDto.getPrice());
+        product.setCapacity(productRequestDto.getCapacity());
+        product.setAddress(productRequestDto.getAddress());
+
+        Set<Image> images = new HashSet<>();
+        if (productRequestDto.getImageSet() != null) {
+            images.addAll(productRequestDto.getImageSet());
+        }
+        product.setImageSet(images);
+
+        Set<Availability> availabilities = new HashSet<>();
+        if (productRequestDto.getAvailabilitySet() != null) {
+            productRequestDto.getAvailabilitySet().forEach(a -> availabilities.add(AvailabilityMapper.toEntity(a)));
+        }
+        product.setAvailabilitySet(availabilities);
+        return product;
+    }
+
+    public static ProductResponseDto toResponse(Product product) {
+        ProductResponseDto productResponseDto = toResponseWithoutAvailabilities(product);
+        Set<AvailabilityResponseDto> availabilities = new HashSet<>();
+        if (product.getAvailabilitySet() != null) {
+            for (Availability availability : product.getAvailabilitySet()) {
+                availabilities.add(AvailabilityMapper.toResponse(availability));
+            }
+        }
+        productResponseDto.setAvailabilitySet(availabilities);
+        return productResponseDto;
+    }
+
+    /**
+     * Igual que {@link #toResponse(Product)} pero sin leer las disponibilidades, para respuestas
+     * que no las serializan (por ejemplo el producto dentro de una reservación).
+     */
+    public static ProductResponseDto toResponseWithoutAvailabilities(Product product) {
+        ProductResponseDto productResponseDto = new ProductResponseDto();
+        productResponseDto.setId(product.getId());
+        productResponseDto.setName(product.getName());
+        productResponseDto.setDescription(product.getDescription());
+        productResponseDto.setPrice(product.getPrice());
+        productResponseDto.setCapacity(product.getCapacity());
+        productResponseDto.setAverageScore(product.getAverageScore());
+        productResponseDto.setCountScores(product.getCountScores());
+        productResponseDto.setAddress(product.getAddress());
+        productResponseDto.setCreatedAt(product.getCreatedAt());
+        productResponseDto.setUpdatedAt(product.getUpdatedAt());
+        productResponseDto.setCity(CityMapper.toResponse(product.getCity()));
+        productResponseDto.setCategory(product.getCategory());
+        // Copias de las colecciones: quedan cargadas aunque la sesión se cierre antes de serializar
+        productResponseDto.setImageSet(product.getImageSet() != null ? new LinkedHashSet<>(product.getImageSet()) : null);
+        productResponseDto.setFeatures(product.getFeatures() != null ? new ArrayList<>(product.getFeatures()) : null);
+        return productResponseDto;
+    }
+}
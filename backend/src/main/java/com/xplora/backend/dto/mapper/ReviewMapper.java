@@ -0,0 +1,29 @@
+package com.xplora.backend.dto.mapper;
+
+import com.xplora.backend.dto.request.ReviewRequestDto;
+import com.xplora.backend.dto.response.ReviewResponseDto;
+import com.xplora.backend.entity.Review;
+
+public final class ReviewMapper {
+
+    private ReviewMapper() {
+    }
+
+    public static Review toEntity(ReviewRequestDto reviewRequestDto) {
+        Review review = new Review();
+        review.setScore(reviewRequestDto.getScore());
+        review.setComment(reviewRequestDto.getComment());
+        return review;
+    }
+
+    // El nombre del autor lo completa quien ya tiene cargado al usuario
+    public static ReviewResponseDto toResponse(Review review) {
+        if (review == null) {
+            return null;
+        }
+        ReviewResponseDto reviewResponseDto = new ReviewResponseDto(review.getId(), review.getScore(), review.getComment(), null);
+        reviewResponseDto.setCreatedAt(review.getCreatedAt());
+        reviewResponseDto.setUpdatedAt(review.getUpdatedAt());
+        return reviewResponseDto;
+    }
+}
@@ -0,0 +1,27 @@
+package com.xplora.backend.dto.mapper;
+
+import com.xplora.backend.dto.response.UserResponseDto;
+import com.xplora.backend.entity.User;
+
+public final class UserMapper {
+
+    private UserMapper() {
+    }
+
+    // Solo datos públicos: la contraseña y las reservaciones nunca se copian
+    public static UserResponseDto toResponse(User user) {
+        if (user == null) {
+            return null;
+        }
+        UserResponseDto userResponseDto = new UserResponseDto(
+                user.getId(),
+                user.getFirstname(),
+                user.getLastname(),
+                user.getEmail(),
+                user.getRole()
+        );
+        userResponseDto.setCreatedAt(user.getCreatedAt());
+        userResponseDto.setUpdatedAt(user.getUpdatedAt());
+        return userResponseDto;
+    }
+}
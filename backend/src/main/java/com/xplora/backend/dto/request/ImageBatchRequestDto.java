@@ -0,0 +1,20 @@
+package com.xplora.backend.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ImageBatchRequestDto {
+    // Urls en el orden en que deben aparecer en la galería
+    @NotEmpty
+    @Size(max = 100)
+    private List<@NotBlank @Size(max = 500) String> imageUrls;
+}
@@ -0,0 +1,20 @@
+package com.xplora.backend.dto.response;
+
+import java.util.List;
+
+// Datos de referencia que el frontend necesita al cargar cualquier página, con los mismos campos que sus endpoints.
+// version crece con cada cambio de un administrador y es la misma en todas las instancias (reference_data_version)
+public record BootstrapResponseDto(long version,
+                                   List<CategoryItem> categories,
+                                   List<CityItem> cities,
+                                   List<FeatureItem> features) {
+
+    public record CategoryItem(Long id, String title, String description, String imageUrl) {
+    }
+
+    public record CityItem(Integer id, String name, String country) {
+    }
+
+    public record FeatureItem(Long id, String name, String iconUrl) {
+    }
+}
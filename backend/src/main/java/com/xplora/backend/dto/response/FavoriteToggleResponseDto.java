@@ -0,0 +1,15 @@
+package com.xplora.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class FavoriteToggleResponseDto {
+    private Long productId;
+    private boolean favorite;
+}
@@ -0,0 +1,25 @@
+package com.xplora.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductCardResponseDto {
+    private Long id;
+    private String name;
+    private Double price;
+    private Double averageScore;
+    private Integer countScores;
+    private String cityName;
+    private String country;
+    private String categoryTitle;
+    private String imageUrl;
+    private Long favorites;
+    private Long views;
+    private Long bookings;
+}
@@ -0,0 +1,22 @@
+package com.xplora.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProductPopularityResponseDto {
+    private Long productId;
+    private Long favoritesAdded;
+    private Long favoritesRemoved;
+    private Long views;
+    private Long bookings;
+
+    public Long getFavorites() {
+        return favoritesAdded - favoritesRemoved;
+    }
+}
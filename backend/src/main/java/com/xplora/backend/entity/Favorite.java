@@ -3,7 +3,9 @@ package com.xplora.backend.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "favorites")
+@Table(name = "favorites", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_favorites_user_product", columnNames = {"user_id", "product_id"})
+})
 public class Favorite {
 
     @Id
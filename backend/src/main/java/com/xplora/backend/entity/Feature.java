@@ -3,11 +3,15 @@ package com.xplora.backend.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Entity
 @Table(name = "features")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "features")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
+import java.util.List;
+
 @Entity
 @Table(name = "images")  // Nombre de la tabla en la BD
 @Getter @Setter
@@ -21,9 +23,27 @@ public class Image {
     @Column(name = "display_order")
     private Integer displayOrder;  // Nuevo campo agregado
 
+    // SHA-256 del archivo cuando la imagen está almacenada localmente; null para urls externas
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Variantes generadas como "ancho x alto" separadas por ';' (vacío si no se pudieron generar)
+    @JsonIgnore
+    @Column(name = "variant_sizes", length = 100)
+    private String variantSizes;
+
     @ManyToOne
     @JoinColumn(name = "product_idproduct", nullable = false)  // Referencia correcta
     @JsonIgnore
     private Product product;
+
+    // Imagen con url externa
+    public Image(Long id, String imageUrl, Integer displayOrder, Product product) {
+        this(id, imageUrl, displayOrder, null, null, product);
+    }
+
+    public List<ImageVariant> getVariants() {
+        return ImageVariant.parse(imageUrl, variantSizes);
+    }
 }
 
@@ -0,0 +1,43 @@
+package com.xplora.backend.entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Versión redimensionada de una imagen almacenada localmente. Su archivo vive junto al original
+ * como {sha256}-{ancho}.{ext}, por lo que la url se deriva de la del original.
+ */
+public record ImageVariant(int width, int height, String url) {
+
+    // Las variantes de jpg se guardan en jpg; las demás en png para conservar la transparencia
+    public static String extensionFor(String sourceExtension) {
+        return "jpg".equals(sourceExtension) ? "jpg" : "png";
+    }
+
+    public static String urlFor(String imageUrl, int width) {
+        int dot = imageUrl.lastIndexOf('.');
+        return imageUrl.substring(0, dot) + "-" + width + "." + extensionFor(imageUrl.substring(dot + 1));
+    }
+
+    /**
+     * Interpreta los tamaños guardados en la imagen ("320x213;640x427") en orden ascendente de ancho.
+     */
+    public static List<ImageVariant> parse(String imageUrl, String sizes) {
+        List<ImageVariant> variants = new ArrayList<>();
+        if (imageUrl == null || sizes == null || sizes.isEmpty()) {
+            return variants;
+        }
+        for (String size : sizes.split(";")) {
+            int x = size.indexOf('x');
+            int width = Integer.parseInt(size.substring(0, x));
+            variants.add(new ImageVariant(width, Integer.parseInt(size.substring(x + 1)), urlFor(imageUrl, width)));
+        }
+        return variants;
+    }
+
+    // Url de la variante más chica, o la del original si todavía no hay variantes
+    public static String smallestUrl(String imageUrl, String sizes) {
+        List<ImageVariant> variants = parse(imageUrl, sizes);
+        return variants.isEmpty() ? imageUrl : variants.get(0).url();
+    }
+}
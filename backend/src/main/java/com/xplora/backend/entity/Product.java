@@ -3,6 +3,8 @@ package com.xplora.backend.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 import java.util.Set;
@@ -50,7 +52,9 @@ public class Product extends Timestamp {
     @JoinColumn(name = "category_id")
     private Category category;
 
+    // La caché guarda solo los ids; cada Feature se resuelve desde la región "features"
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-features")
     @JoinTable(
             name = "products_features", // Nombre de la tabla  en la BD
             joinColumns = @JoinColumn(name = "products_id"), // s
@@ -0,0 +1,34 @@
+package com.xplora.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "product_counters")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ProductCounter {
+    // Se escribe con upserts por lotes desde PopularityServiceImpl, no desde JPA
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private Long favoritesAdded = 0L;
+
+    @Column(nullable = false)
+    private Long favoritesRemoved = 0L;
+
+    @Column(nullable = false)
+    private Long views = 0L;
+
+    @Column(nullable = false)
+    private Long bookings = 0L;
+
+    private LocalDateTime updatedAt;
+}
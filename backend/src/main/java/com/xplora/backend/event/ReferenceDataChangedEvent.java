@@ -0,0 +1,7 @@
+package com.xplora.backend.event;
+
+/**
+ * Se publica cuando un administrador crea, modifica o elimina una categoría, ciudad o característica.
+ */
+public record ReferenceDataChangedEvent(String type) {
+}
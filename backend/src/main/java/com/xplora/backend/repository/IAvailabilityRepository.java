@@ -2,11 +2,15 @@ package com.xplora.backend.repository;
 
 import com.xplora.backend.entity.Availability;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface IAvailabilityRepository extends JpaRepository<Availability, Long> {
-    List<Availability> findByProductId(Long productId);
+    // Filtra por la llave foránea; el método derivado agregaba un LEFT JOIN que impedía usar el índice
+    @Query("SELECT a FROM Availability a WHERE a.product.id = :productId")
+    List<Availability> findByProductId(@Param("productId") Long productId);
 }
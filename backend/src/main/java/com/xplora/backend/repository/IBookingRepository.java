@@ -1,13 +1,30 @@
 package com.xplora.backend.repository;
 
 import com.xplora.backend.entity.Booking;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface IBookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByUserId(Long userId);
-    List<Booking> findByProductId(Long productId);
+    // Consultas explícitas sobre las llaves foráneas para que usen idx_bookings_user_date e idx_bookings_product
+    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId")
+    List<Booking> findByUserId(@Param("userId") Long userId);
+    @Query("SELECT b FROM Booking b WHERE b.product.id = :productId")
+    List<Booking> findByProductId(@Param("productId") Long productId);
+
+    // Cursor de solo lectura para exportaciones; debe consumirse dentro de una transacción
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.product ORDER BY b.id")
+    Stream<Booking> streamAll();
 }
@@ -1,17 +1,36 @@
 package com.xplora.backend.repository;
 
 import com.xplora.backend.entity.Favorite;
-import com.xplora.backend.entity.Product;
 import com.xplora.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface IFavoriteRepository extends JpaRepository<Favorite, Long> {
     List<Favorite> findByUser(User user);
 
-    boolean existsByUserAndProduct(User user, Product product);
-}
+    boolean existsByUserIdAndProductId(Long userId, Long productId);
+
+    @Query("SELECT f.product.id FROM Favorite f WHERE f.user.id = :userId")
+    List<Long> findProductIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT f.product.id FROM Favorite f WHERE f.id = :id AND f.user.id = :userId")
+    Optional<Long> findProductIdByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
 
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Favorite f WHERE f.user.id = :userId AND f.product.id = :productId")
+    int deleteByUserIdAndProductId(@Param("userId") Long userId, @Param("productId") Long productId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM Favorite f WHERE f.id = :id AND f.user.id = :userId")
+    int deleteByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+}
@@ -0,0 +1,9 @@
+package com.xplora.backend.repository;
+
+import com.xplora.backend.entity.ProductCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IProductCounterRepository extends JpaRepository<ProductCounter, Long> {
+}
@@ -1,13 +1,40 @@
 package com.xplora.backend.repository;
 
 import com.xplora.backend.entity.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface IProductRepository extends JpaRepository<Product, Long> {
     boolean existsByName(String productName);
-    List<Product> findByCategoryId(Long categoryId);
+    // Usa idx_products_category; la versión derivada unía categories con LEFT JOIN
+    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId")
+    List<Product> findByCategoryId(@Param("categoryId") Long categoryId);
+
+    // SELECT ... FOR UPDATE: serializa las escrituras que dependen del estado actual del producto
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT p FROM Product p JOIN FETCH p.city LEFT JOIN FETCH p.category")
+    List<Product> findAllWithCityAndCategory();
+
+    // Cursor de solo lectura para exportaciones; debe consumirse dentro de una transacción
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p JOIN FETCH p.city LEFT JOIN FETCH p.category ORDER BY p.id")
+    Stream<Product> streamAll();
 }
@@ -2,11 +2,15 @@ package com.xplora.backend.repository;
 
 import com.xplora.backend.entity.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface IReviewRepository extends JpaRepository<Review, Long> {
-    List<Review> findByProductId(Long productId);
+    // Filtra por la columna product_id sin unir products (ver idx_reviews_product_created)
+    @Query("SELECT r FROM Review r WHERE r.product.id = :productId")
+    List<Review> findByProductId(@Param("productId") Long productId);
 }
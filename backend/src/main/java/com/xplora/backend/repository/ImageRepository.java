@@ -2,11 +2,40 @@ package com.xplora.backend.repository;
 
 import com.xplora.backend.entity.Image;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
 
 @Repository
 public interface ImageRepository extends JpaRepository<Image, Long> {
-    List<Image> findByProductId(Long productId);
+    // Galería del producto por idx_images_product_order
+    @Query("SELECT i FROM Image i WHERE i.product.id = :productId")
+    List<Image> findByProductId(@Param("productId") Long productId);
+
+    // Urls de imágenes sin cargar el producto, en el orden de la galería
+    @Query("SELECT i.product.id AS productId, i.imageUrl AS imageUrl, i.variantSizes AS variantSizes FROM Image i ORDER BY i.product.id, i.displayOrder, i.id")
+    List<ImageUrlView> findAllImageUrls();
+
+    @Query("SELECT COALESCE(MAX(i.displayOrder), 0) FROM Image i WHERE i.product.id = :productId")
+    int findMaxDisplayOrder(@Param("productId") Long productId);
+
+    // Imágenes locales a las que todavía no se les generaron variantes
+    @Query("SELECT i FROM Image i WHERE i.contentHash IS NOT NULL AND i.variantSizes IS NULL")
+    List<Image> findPendingVariants();
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Image i SET i.variantSizes = :variantSizes WHERE i.id = :id")
+    int updateVariantSizes(@Param("id") Long id, @Param("variantSizes") String variantSizes);
+
+    interface ImageUrlView {
+        Long getProductId();
+        String getImageUrl();
+        String getVariantSizes();
+    }
 }
 
@@ -0,0 +1,99 @@
+package com.xplora.backend.repository;
+
+import com.xplora.backend.entity.Availability;
+import com.xplora.backend.entity.Image;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Inserta las imágenes y disponibilidades de un producto con un INSERT por lotes por tabla.
+ * Con ids IDENTITY Hibernate inserta estas colecciones fila por fila; aquí se envía un solo lote
+ * (una sola sentencia multi-fila en MySQL con rewriteBatchedStatements) y se recuperan los ids generados.
+ */
+@Repository
+public class ProductChildrenWriter {
+    private static final String INSERT_IMAGE =
+            "INSERT INTO images (url_image, display_order, content_hash, product_idproduct) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_AVAILABILITY =
+            "INSERT INTO availabilities (date, remaining_capacity, product_id) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProductChildrenWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Asigna a cada imagen el id generado
+    public void insertImages(Long productId, List<Image> images) {
+        insert(INSERT_IMAGE, "idimage", images, (ps, image) -> {
+            ps.setString(1, image.getImageUrl());
+            if (image.getDisplayOrder() != null) {
+                ps.setInt(2, image.getDisplayOrder());
+            } else {
+                ps.setNull(2, Types.INTEGER);
+            }
+            ps.setString(3, image.getContentHash());
+            ps.setLong(4, productId);
+        }, Image::setId);
+    }
+
+    // Asigna a cada disponibilidad el id generado
+    public void insertAvailabilities(Long productId, List<Availability> availabilities) {
+        insert(INSERT_AVAILABILITY, "id", availabilities, (ps, availability) -> {
+            ps.setDate(1, Date.valueOf(availability.getDate()));
+            ps.setInt(2, availability.getRemainingCapacity());
+            ps.setLong(3, productId);
+        }, Availability::setId);
+    }
+
+    // Borra las colecciones completas con una sentencia por tabla, sin cargarlas
+    public void deleteByProductId(Long productId) {
+        jdbcTemplate.update("DELETE FROM images WHERE product_idproduct = ?", productId);
+        jdbcTemplate.update("DELETE FROM availabilities WHERE product_id = ?", productId);
+    }
+
+    private <T> void insert(String sql, String idColumn, List<T> rows,
+                            RowBinder<T> binder, BiConsumer<T, Long> idSetter) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(sql, new String[]{idColumn}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        binder.bind(ps, rows.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() == rows.size()) {
+            for (int i = 0; i < rows.size(); i++) {
+                idSetter.accept(rows.get(i), ((Number) keys.get(i).values().iterator().next()).longValue());
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder<T> {
+        void bind(PreparedStatement ps, T row) throws SQLException;
+    }
+}
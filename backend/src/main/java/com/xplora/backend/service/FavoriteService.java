@@ -1,10 +1,15 @@
 package com.xplora.backend.service;
 
+import com.xplora.backend.dto.response.FavoriteToggleResponseDto;
 import com.xplora.backend.entity.Favorite;
 import java.util.List;
+import java.util.Map;
 
 public interface FavoriteService {
     void addFavorite(Long userId, Long productId);
     List<Favorite> getFavorites(Long userId);
     void removeFavorite(Long userId, Long favoriteId);
+    long[] getFavoriteProductIds(Long userId);
+    Map<Long, Boolean> areFavorites(Long userId, List<Long> productIds);
+    FavoriteToggleResponseDto toggleFavorite(Long userId, Long productId);
 }
@@ -7,10 +7,13 @@ import com.xplora.backend.entity.User;
 import jakarta.mail.MessagingException;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface IBookingService {
     BookingResponseDto saveBooking(BookingRequestDto bookingRequestDto, User user) throws MessagingException;
     List<BookingResponseDto> getBookingsByUserId(Long userId);
     List<BookingResponseDto> getBookingsByProductId(Long productId);
+    void streamAllBookings(Consumer<Stream<BookingResponseDto>> consumer);
     Booking findById(Long id);
 }
@@ -0,0 +1,16 @@
+package com.xplora.backend.service;
+
+import com.xplora.backend.dto.response.ProductPopularityResponseDto;
+
+import java.util.List;
+import java.util.Map;
+
+public interface IPopularityService {
+    void recordFavoriteAdded(Long productId);
+    void recordFavoriteRemoved(Long productId);
+    void recordView(Long productId);
+    void recordBooking(Long productId);
+    List<ProductPopularityResponseDto> getAllPopularity();
+    Map<Long, ProductPopularityResponseDto> getPopularityByProductId();
+    void flush();
+}
@@ -1,15 +1,20 @@
 package com.xplora.backend.service;
 
 import com.xplora.backend.dto.request.ProductRequestDto;
+import com.xplora.backend.dto.response.ProductCardResponseDto;
 import com.xplora.backend.dto.response.ProductResponseDto;
 import com.xplora.backend.entity.Product;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface IProductService {
     ProductResponseDto saveProduct(ProductRequestDto productRequestDto);
     ProductResponseDto getProductById(Long id);
     List<ProductResponseDto> getAllProducts();
+    void streamAllProducts(Consumer<Stream<ProductResponseDto>> consumer);
+    List<ProductCardResponseDto> getProductCards();
     ProductResponseDto updateProduct(Long id, ProductRequestDto productRequestDto);
     void deleteProductById(Long id);
     List<Product> getProductsByCategory(Long categoryId);
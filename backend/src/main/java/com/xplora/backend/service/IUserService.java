@@ -5,10 +5,12 @@ import com.xplora.backend.dto.response.UserResponseDto;
 import com.xplora.backend.entity.User;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface IUserService {
     List<UserResponseDto> getAllUsers();
+    void streamAllUsers(Consumer<Stream<UserResponseDto>> consumer);
     UserResponseDto updateUserRole(Long id, UserRoleRequestDto userRoleRequestDto);
-    User getAuthenticatedUser(String authHeader);
     User getUserByEmail(String email);
 }
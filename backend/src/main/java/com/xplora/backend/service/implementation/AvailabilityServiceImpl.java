@@ -1,5 +1,6 @@
 package com.xplora.backend.service.implementation;
 
+import com.xplora.backend.dto.mapper.AvailabilityMapper;
 import com.xplora.backend.dto.response.AvailabilityResponseDto;
 import com.xplora.backend.entity.Availability;
 import com.xplora.backend.entity.Product;
@@ -7,11 +8,10 @@ import com.xplora.backend.exception.ResourceNotFoundException;
 import com.xplora.backend.repository.IAvailabilityRepository;
 import com.xplora.backend.service.IAvailabilityService;
 import com.xplora.backend.service.IProductService;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,8 +21,6 @@ public class AvailabilityServiceImpl implements IAvailabilityService {
     private final Logger logger = LoggerFactory.getLogger(AvailabilityServiceImpl.class);
     private IAvailabilityRepository availabilityRepository;
     private IProductService productService;
-    @Autowired
-    private ModelMapper modelMapper;
 
     public AvailabilityServiceImpl(IAvailabilityRepository availabilityRepository, IProductService productService) {
         this.availabilityRepository = availabilityRepository;
@@ -30,6 +28,7 @@ public class AvailabilityServiceImpl implements IAvailabilityService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<AvailabilityResponseDto> getAvailabilitiesByProductId(Long productId) {
         logger.info("getAvailabilitiesByProductId - Obteniendo disponibilidades de producto con id: " + productId);
         if (!productService.existsById(productId)) {
@@ -39,7 +38,7 @@ public class AvailabilityServiceImpl implements IAvailabilityService {
 
         List<AvailabilityResponseDto> availabilityResponseDtoList = new ArrayList<>();
         for (Availability availability : availabilitiesDB) {
-            availabilityResponseDtoList.add(modelMapper.map(availability, AvailabilityResponseDto.class));
+            availabilityResponseDtoList.add(AvailabilityMapper.toResponse(availability));
         }
 
         return availabilityResponseDtoList;
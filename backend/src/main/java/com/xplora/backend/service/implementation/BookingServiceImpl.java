@@ -1,5 +1,7 @@
 package com.xplora.backend.service.implementation;
 
+import com.xplora.backend.configuration.ReadYourWritesTracker;
+import com.xplora.backend.dto.mapper.BookingMapper;
 import com.xplora.backend.dto.request.BookingRequestDto;
 import com.xplora.backend.dto.response.*;
 import com.xplora.backend.entity.*;
@@ -9,18 +11,23 @@ import com.xplora.backend.repository.IBookingRepository;
 import com.xplora.backend.service.IAvailabilityService;
 import com.xplora.backend.service.IBookingService;
 import com.xplora.backend.service.IEmailService;
+import com.xplora.backend.service.IPopularityService;
 import com.xplora.backend.service.IProductService;
+import com.xplora.backend.utils.JsonStreamWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.mail.MessagingException;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class BookingServiceImpl implements IBookingService  {
@@ -29,17 +36,24 @@ public class BookingServiceImpl implements IBookingService  {
     private IProductService productService;
     private IAvailabilityService availabilityService;
     private IEmailService emailService;
-    @Autowired
-    private ModelMapper modelMapper;
+    private IPopularityService popularityService;
+    private ReadYourWritesTracker readYourWrites;
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public BookingServiceImpl(IBookingRepository bookingRepository, IProductService productService, IAvailabilityService availabilityService, IEmailService emailService) {
+    public BookingServiceImpl(IBookingRepository bookingRepository, IProductService productService, IAvailabilityService availabilityService, IEmailService emailService, IPopularityService popularityService,
+                              ReadYourWritesTracker readYourWrites) {
         this.bookingRepository = bookingRepository;
         this.productService = productService;
         this.availabilityService = availabilityService;
         this.emailService = emailService;
+        this.popularityService = popularityService;
+        this.readYourWrites = readYourWrites;
     }
 
+    // Transaccional: el producto y sus disponibilidades se leen, y la respuesta se arma, con la misma sesión
     @Override
+    @Transactional
     public BookingResponseDto saveBooking(BookingRequestDto bookingRequestDto, User user) throws MessagingException {
         logger.info("saveBookingOfUser - Guardando reservación: " + bookingRequestDto + " del usuario con id: " + user.getId());
 
@@ -57,11 +71,14 @@ public class BookingServiceImpl implements IBookingService  {
         availability.setRemainingCapacity(newRemainingCapacity);
         availabilityService.updateAvailability(availability);
 
-        Booking booking = modelMapper.map(bookingRequestDto, Booking.class);
+        Booking booking = BookingMapper.toEntity(bookingRequestDto);
         booking.setDate(availability.getDate());
         booking.setUser(user);
         booking.setProduct(product);
         Booking bookingDB = bookingRepository.save(booking);
+        popularityService.recordBooking(product.getId());
+        // El usuario va a consultar sus reservas enseguida: sus lecturas no pasan por la réplica por unos segundos
+        readYourWrites.recordWrite(user.getUsername());
 
         BookingResponseDto bookingResponseDto = bookingToResponse(bookingDB);
         emailService.sendMailBooking(bookingResponseDto);
@@ -69,6 +86,7 @@ public class BookingServiceImpl implements IBookingService  {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingResponseDto> getBookingsByUserId(Long userId) {
         logger.info("getBookingsByUserId - Obteniendo reservaciones del usuario con id: " + userId);
         List<Booking> bookingsDB = bookingRepository.findByUserId(userId);
@@ -81,6 +99,7 @@ public class BookingServiceImpl implements IBookingService  {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<BookingResponseDto> getBookingsByProductId(Long productId) {
         logger.info("getBookingsByProductId - Obteniendo reservaciones del producto con id: " + productId);
         List<Booking> bookingsDB = bookingRepository.findByProductId(productId);
@@ -92,6 +111,15 @@ public class BookingServiceImpl implements IBookingService  {
         return bookingResponseDtoList;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllBookings(Consumer<Stream<BookingResponseDto>> consumer) {
+        logger.info("streamAllBookings - Exportando todas las reservaciones ...");
+        try (Stream<Booking> bookings = bookingRepository.streamAll()) {
+            consumer.accept(JsonStreamWriter.mapAndClear(bookings, BookingMapper::toResponse, entityManager, 50));
+        }
+    }
+
     @Override
     public Booking findById(Long id) {
         logger.info("findById - Buscando reservación con id: " + id);
@@ -100,13 +128,6 @@ public class BookingServiceImpl implements IBookingService  {
     }
 
     public BookingResponseDto bookingToResponse(Booking booking) {
-        ProductResponseDto productResponseDto = modelMapper.map(booking.getProduct(), ProductResponseDto.class);
-        productResponseDto.setCity(modelMapper.map(booking.getProduct().getCity(), CityResponseDto.class));
-
-        BookingResponseDto bookingResponseDto = modelMapper.map(booking, BookingResponseDto.class);
-        bookingResponseDto.setProduct(productResponseDto);
-        bookingResponseDto.setAvailability(new AvailabilityResponseDto(null, booking.getDate(), null));
-        bookingResponseDto.setUser(modelMapper.map(booking.getUser(), UserResponseDto.class));
-        return bookingResponseDto;
+        return BookingMapper.toResponse(booking);
     }
 }
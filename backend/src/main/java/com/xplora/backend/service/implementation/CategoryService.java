@@ -2,11 +2,14 @@ package com.xplora.backend.service.implementation;
 
 import com.xplora.backend.entity.Category;
 import com.xplora.backend.entity.Product;
+import com.xplora.backend.event.ReferenceDataChangedEvent;
 import com.xplora.backend.exception.ResourceNotFoundException;
 import com.xplora.backend.repository.ICategoryRepository;
 import com.xplora.backend.repository.IProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -19,17 +22,22 @@ public class CategoryService {
     @Autowired
     private IProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Obtener todas las categorías
     public List<Category> getAllCategories() {
         return categoryRepository.findAll();
     }
 
     // Obtener productos de una categoría con validación
+    @Transactional(readOnly = true)
     public List<Product> getProductsByCategory(Long categoryId) {
-        Category category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new RuntimeException("Categoría no encontrada"));
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new RuntimeException("Categoría no encontrada");
+        }
 
-        return category.getProducts();
+        return ProductFetchPlan.initialize(productRepository.findByCategoryId(categoryId));
     }
 
     // Crear una nueva categoría con validación de nombre duplicado
@@ -42,10 +50,13 @@ public class CategoryService {
         category.setTitle(title);
         category.setDescription(description);
         category.setImageUrl(imageUrl);
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("categories"));
+        return saved;
     }
 
     // Asignar una categoría a un producto con validaciones
+    @Transactional
     public Product assignCategoryToProduct(Long productId, Long categoryId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
@@ -54,7 +65,7 @@ public class CategoryService {
                 .orElseThrow(() -> new RuntimeException("Categoría no encontrada"));
 
         product.setCategory(category);
-        return productRepository.save(product);
+        return ProductFetchPlan.initialize(productRepository.save(product));
     }
 
     // Verificar si una categoría existe
@@ -73,6 +84,7 @@ public class CategoryService {
     }
 
     //  ELIMINAR UNA CATEGORÍA CON VALIDACIONES
+    @Transactional
     public void deleteCategory(Long categoryId) {
         Category category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new RuntimeException("Categoría no encontrada"));
@@ -82,6 +94,7 @@ public class CategoryService {
         }
 
         categoryRepository.delete(category);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("categories"));
     }
 
     public Category findById(Long id) {
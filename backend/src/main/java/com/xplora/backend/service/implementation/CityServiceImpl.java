@@ -1,15 +1,17 @@
 package com.xplora.backend.service.implementation;
 
+import com.xplora.backend.dto.mapper.CityMapper;
 import com.xplora.backend.dto.request.CityRequestDto;
 import com.xplora.backend.dto.response.CityResponseDto;
 import com.xplora.backend.entity.City;
+import com.xplora.backend.event.ReferenceDataChangedEvent;
 import com.xplora.backend.exception.BadRequestException;
 import com.xplora.backend.repository.ICityRepository;
 import com.xplora.backend.service.ICityService;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
@@ -22,7 +24,7 @@ public class CityServiceImpl implements ICityService {
     private final Logger logger = LoggerFactory.getLogger(CityServiceImpl.class);
     private ICityRepository cityRepository;
     @Autowired
-    private ModelMapper modelMapper;
+    private ApplicationEventPublisher eventPublisher;
 
     public CityServiceImpl(ICityRepository cityRepository) {
         this.cityRepository = cityRepository;
@@ -37,9 +39,10 @@ public class CityServiceImpl implements ICityService {
             throw new DataIntegrityViolationException("La ciudad ya esta registrada");
         }
 
-        City city = modelMapper.map(cityRequestDto, City.class);
+        City city = CityMapper.toEntity(cityRequestDto);
         City cityDB = cityRepository.save(city);
-        return modelMapper.map(cityDB, CityResponseDto.class);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("cities"));
+        return CityMapper.toResponse(cityDB);
     }
 
     @Override
@@ -49,7 +52,7 @@ public class CityServiceImpl implements ICityService {
 
         List<CityResponseDto> citiyCityResponseDtoList = new ArrayList<>();
         for (City city : citiesDB) {
-            citiyCityResponseDtoList.add(modelMapper.map(city, CityResponseDto.class));
+            citiyCityResponseDtoList.add(CityMapper.toResponse(city));
         }
         return citiyCityResponseDtoList;
     }
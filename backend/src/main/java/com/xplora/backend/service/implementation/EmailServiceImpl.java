@@ -4,19 +4,27 @@ import com.xplora.backend.dto.response.BookingResponseDto;
 import com.xplora.backend.entity.Booking;
 import com.xplora.backend.entity.User;
 import com.xplora.backend.service.IEmailService;
+import com.xplora.backend.utils.MailDispatcher;
+import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.InternetHeaders;
+import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 import org.springframework.core.io.Resource;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,45 +32,36 @@ public class EmailServiceImpl implements IEmailService {
     private final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
     private final JavaMailSender javaMailSender;
     private final TemplateEngine templateEngine;
+    private final MailDispatcher mailDispatcher;
 
-    @Value("classpath:templates/xplora-logo.png")
-    private Resource resourceFile;
-    @Value("classpath:templates/xplora-logowhite.png")
-    private Resource resourceFile2;
+    // Logos ya codificados en base64 al iniciar; cada correo solo agrega una parte que apunta a estos bytes
+    private final InlineImage logo;
+    private final InlineImage logoWhite;
 
-    public EmailServiceImpl(JavaMailSender javaMailSender, TemplateEngine templateEngine) {
+    public EmailServiceImpl(JavaMailSender javaMailSender, TemplateEngine templateEngine, MailDispatcher mailDispatcher,
+                            @Value("classpath:templates/xplora-logo.png") Resource resourceFile,
+                            @Value("classpath:templates/xplora-logowhite.png") Resource resourceFile2) throws IOException {
         this.javaMailSender = javaMailSender;
         this.templateEngine = templateEngine;
+        this.mailDispatcher = mailDispatcher;
+        this.logo = InlineImage.load("attachment.png", resourceFile);
+        this.logoWhite = InlineImage.load("attachment2.png", resourceFile2);
     }
 
     @Override
     public void sendMailWelcome(User user) throws MessagingException {
         logger.info("sendMailWelcome - Enviando correo de registro/bienvenida al usuario con id: " + user.getId());
-        MimeMessage message = javaMailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-        helper.setTo(user.getEmail());
-        helper.setSubject("Bienvenido/a a Xplora+");
-
         Context context = new Context();
         context.setVariable("firstname", user.getFirstname());
         String contentHTML = templateEngine.process("email-welcome", context);
 
-        helper.setText(contentHTML, true);
-        helper.addInline("attachment.png", resourceFile);
-
-        javaMailSender.send(message);
+        MimeMessage message = buildMessage(user.getEmail(), "Bienvenido/a a Xplora+", contentHTML, logo);
+        dispatch(message, "sendMailWelcome", user.getId());
     }
 
     @Override
     public void sendMailBooking(BookingResponseDto booking) throws MessagingException {
         logger.info("sendMailBooking - Enviando correo de confirmación de la reserva con id: " + booking.getId());
-        MimeMessage message = javaMailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-        helper.setTo(booking.getUser().getEmail());
-        helper.setSubject("Xplora+ ¡Reserva confirmada!");
-
         Context context = new Context();
 
         context.setVariable("user_firstname", booking.getUser().getFirstname());
@@ -82,9 +81,52 @@ public class EmailServiceImpl implements IEmailService {
 
         String contentHTML = templateEngine.process("email-booking", context);
 
-        helper.setText(contentHTML, true);
-        helper.addInline("attachment2.png", resourceFile2);
+        MimeMessage message = buildMessage(booking.getUser().getEmail(), "Xplora+ ¡Reserva confirmada!", contentHTML, logoWhite);
+        dispatch(message, "sendMailBooking", booking.getId());
+    }
+
+    // multipart/related armado a mano: el HTML renderizado más el logo precodificado
+    private MimeMessage buildMessage(String to, String subject, String html, InlineImage image) throws MessagingException {
+        MimeMessage message = javaMailSender.createMimeMessage();
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        message.setSubject(subject, "UTF-8");
+
+        MimeBodyPart htmlPart = new MimeBodyPart();
+        htmlPart.setText(html, "UTF-8", "html");
+
+        MimeMultipart related = new MimeMultipart("related");
+        related.addBodyPart(htmlPart);
+        related.addBodyPart(image.newPart());
+        message.setContent(related);
+        return message;
+    }
+
+    // El envío se hace en segundo plano por las conexiones SMTP del dispatcher
+    private void dispatch(MimeMessage message, String method, Long id) {
+        mailDispatcher.submit(message).whenComplete((result, error) -> {
+            if (error != null) {
+                logger.error(method + " - No se pudo enviar el correo (id " + id + "): " + error.getMessage());
+            }
+        });
+    }
 
-        javaMailSender.send(message);
+    private record InlineImage(String contentId, String contentType, byte[] encoded) {
+
+        static InlineImage load(String contentId, Resource resource) throws IOException {
+            try (InputStream in = resource.getInputStream()) {
+                byte[] encoded = Base64.getMimeEncoder().encode(in.readAllBytes());
+                return new InlineImage(contentId, "image/png", encoded);
+            }
+        }
+
+        // Con Content-Transfer-Encoding ya definido, JavaMail escribe los bytes tal cual, sin volver a codificar
+        MimeBodyPart newPart() throws MessagingException {
+            InternetHeaders headers = new InternetHeaders();
+            headers.setHeader("Content-Type", contentType);
+            headers.setHeader("Content-Transfer-Encoding", "base64");
+            headers.setHeader("Content-ID", "<" + contentId + ">");
+            headers.setHeader("Content-Disposition", "inline; filename=" + contentId);
+            return new MimeBodyPart(headers, encoded);
+        }
     }
 }
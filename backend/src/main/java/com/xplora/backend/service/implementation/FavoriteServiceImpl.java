@@ -1,16 +1,25 @@
 package com.xplora.backend.service.implementation;
 
+import com.xplora.backend.dto.response.FavoriteToggleResponseDto;
 import com.xplora.backend.entity.Favorite;
-import com.xplora.backend.entity.Product;
 import com.xplora.backend.entity.User;
+import com.xplora.backend.exception.ResourceNotFoundException;
 import com.xplora.backend.repository.IFavoriteRepository;
 import com.xplora.backend.repository.IProductRepository;
 import com.xplora.backend.repository.IUserRepository;
 import com.xplora.backend.service.FavoriteService;
+import com.xplora.backend.service.IPopularityService;
+import com.xplora.backend.utils.BoundedCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class FavoriteServiceImpl implements FavoriteService {
@@ -24,39 +33,112 @@ public class FavoriteServiceImpl implements FavoriteService {
     @Autowired
     private IProductRepository productRepository;
 
+    @Autowired
+    private IPopularityService popularityService;
+
+    // ids de productos favoritos por usuario, como arreglos ordenados de long. Cada escritura invalida la
+    // entrada del usuario; el TTL acota cuánto tarda en verse una escritura hecha en otra instancia
+    private final BoundedCache<Long, long[]> favoriteIdsCache;
+    private final long cacheTtlMillis;
+
+    public FavoriteServiceImpl(@Value("${favorites.cache.max-users:10000}") int maxCachedUsers,
+                               @Value("${favorites.cache.ttl-ms:60000}") long cacheTtlMillis) {
+        this.favoriteIdsCache = new BoundedCache<>(maxCachedUsers);
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
     @Override
     public void addFavorite(Long userId, Long productId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
-
-        // Verificar si el producto ya está en favoritos
-        if (favoriteRepository.existsByUserAndProduct(user, product)) {
-            throw new RuntimeException("El producto ya está en favoritos");
+        // La restricción única (user_id, product_id) evita duplicados sin consultar antes
+        if (!insertFavorite(userId, productId)) {
+            throw new DataIntegrityViolationException("El producto ya está en favoritos");
         }
-
-        Favorite favorite = new Favorite(user, product);
-        favoriteRepository.save(favorite);
+        favoriteIdsCache.remove(userId);
+        popularityService.recordFavoriteAdded(productId);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Favorite> getFavorites(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado"));
-        return favoriteRepository.findByUser(user);
+        List<Favorite> favorites = favoriteRepository.findByUser(user);
+        ProductFetchPlan.initialize(favorites.stream().map(Favorite::getProduct).toList());
+        return favorites;
     }
 
     @Override
     public void removeFavorite(Long userId, Long favoriteId) { // 🔥 Ahora recibe userId y favoriteId
-        Favorite favorite = favoriteRepository.findById(favoriteId)
-                .orElseThrow(() -> new RuntimeException("Favorito no encontrado"));
+        // Solo se elimina si el favorito pertenece al usuario autenticado
+        Long productId = favoriteRepository.findProductIdByIdAndUserId(favoriteId, userId)
+                .orElseThrow(() -> new ResourceNotFoundException("Favorito no encontrado"));
+        if (favoriteRepository.deleteByIdAndUserId(favoriteId, userId) > 0) {
+            favoriteIdsCache.remove(userId);
+            popularityService.recordFavoriteRemoved(productId);
+        }
+    }
 
-        // Verificar que el usuario autenticado es el dueño del favorito
-        if (!favorite.getUser().getId().equals(userId)) {
-            throw new RuntimeException("No tienes permiso para eliminar este favorito");
+    // Agrega o quita el producto de favoritos según la base, no la caché: primero intenta borrar y solo si no
+    // había nada inserta, así el caso común sigue siendo una sola sentencia
+    @Override
+    public FavoriteToggleResponseDto toggleFavorite(Long userId, Long productId) {
+        boolean favorite;
+        if (favoriteRepository.deleteByUserIdAndProductId(userId, productId) > 0) {
+            popularityService.recordFavoriteRemoved(productId);
+            favorite = false;
+        } else {
+            // Si otra petición lo insertó entre medio, igual queda como favorito
+            if (insertFavorite(userId, productId)) {
+                popularityService.recordFavoriteAdded(productId);
+            }
+            favorite = true;
+        }
+        favoriteIdsCache.remove(userId);
+        return new FavoriteToggleResponseDto(productId, favorite);
+    }
+
+    // Ids de los productos favoritos del usuario, ordenados de forma ascendente
+    @Override
+    public long[] getFavoriteProductIds(Long userId) {
+        long[] ids = favoriteIdsCache.get(userId);
+        if (ids == null) {
+            // Si una escritura invalida la caché mientras se consulta, este resultado no se guarda
+            long stamp = favoriteIdsCache.invalidationStamp();
+            ids = favoriteRepository.findProductIdsByUserId(userId).stream()
+                    .mapToLong(Long::longValue)
+                    .sorted()
+                    .toArray();
+            favoriteIdsCache.putIfNotInvalidated(userId, ids, System.currentTimeMillis() + cacheTtlMillis, stamp);
         }
+        return ids;
+    }
 
-        favoriteRepository.delete(favorite);
+    // Indica, para cada producto recibido, si está en los favoritos del usuario
+    @Override
+    public Map<Long, Boolean> areFavorites(Long userId, List<Long> productIds) {
+        long[] ids = getFavoriteProductIds(userId);
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        for (Long productId : productIds) {
+            result.put(productId, Arrays.binarySearch(ids, productId) >= 0);
+        }
+        return result;
+    }
+
+    // Inserta usando referencias por id; devuelve false si el favorito ya existía
+    private boolean insertFavorite(Long userId, Long productId) {
+        Favorite favorite = new Favorite(
+                userRepository.getReferenceById(userId),
+                productRepository.getReferenceById(productId)
+        );
+        try {
+            favoriteRepository.save(favorite);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Solo en el camino de error se distingue un duplicado de un producto inexistente
+            if (favoriteRepository.existsByUserIdAndProductId(userId, productId)) {
+                return false;
+            }
+            throw new ResourceNotFoundException("Producto no encontrado");
+        }
     }
 }
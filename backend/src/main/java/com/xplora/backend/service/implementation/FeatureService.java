@@ -2,15 +2,15 @@ package com.xplora.backend.service.implementation;
 
 import com.xplora.backend.entity.Feature;
 import com.xplora.backend.entity.Product;
-import com.xplora.backend.exception.ResourceNotFoundException;
+import com.xplora.backend.event.ReferenceDataChangedEvent;
 import com.xplora.backend.repository.IFeatureRepository;
 import com.xplora.backend.repository.IProductRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 public class FeatureService {
@@ -21,19 +21,24 @@ public class FeatureService {
     @Autowired
     private IProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     // Obtener todas las características
     public List<Feature> getAllFeatures() {
         return featureRepository.findAll();
     }
 
     // Obtener características de un producto (ManyToMany)
+    @Transactional(readOnly = true)
     public List<Feature> getFeaturesByProduct(Long productId) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
-        return product.getFeatures();
+        return new ArrayList<>(product.getFeatures());
     }
 
     // Agregar una característica existente a un producto
+    @Transactional
     public Feature addFeatureToProduct(Long productId, Feature feature) {
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new RuntimeException("Producto no encontrado"));
@@ -58,7 +63,9 @@ public class FeatureService {
         feature.setName(name);
         feature.setIconUrl(iconUrl);
 
-        return featureRepository.save(feature);
+        Feature saved = featureRepository.save(feature);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("features"));
+        return saved;
     }
 
     // Actualizar una característica con validación de nombre
@@ -75,7 +82,9 @@ public class FeatureService {
         feature.setName(featureDetails.getName());
         feature.setIconUrl(featureDetails.getIconUrl());
 
-        return featureRepository.save(feature);
+        Feature saved = featureRepository.save(feature);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("features"));
+        return saved;
     }
 
     // Eliminar una característica con verificación de existencia
@@ -84,6 +93,7 @@ public class FeatureService {
             throw new RuntimeException("Característica no encontrada");
         }
         featureRepository.deleteById(featureId);
+        eventPublisher.publishEvent(new ReferenceDataChangedEvent("features"));
     }
 
     // verificar si una caracteristica con el mismo nombre existe
@@ -100,13 +110,4 @@ public class FeatureService {
     public Optional<Feature> findById(Long featureId) {
         return featureRepository.findById(featureId);
     }
-
-    public List<Feature> findByIds(List<Long> ids) {
-        List<Feature> features = new ArrayList<>();
-        for (Long id: ids) {
-            features.add(featureRepository.findById(id)
-                    .orElseThrow(() -> new ResourceNotFoundException("La catacteristica con id: " + id + " no existe")));
-        }
-        return features;
-    }
 }
@@ -2,20 +2,37 @@ package com.xplora.backend.service.implementation;
 
 import com.xplora.backend.entity.Image;
 import com.xplora.backend.entity.Product;
+import com.xplora.backend.exception.ResourceNotFoundException;
 import com.xplora.backend.repository.ImageRepository;
 import com.xplora.backend.repository.IProductRepository;
+import com.xplora.backend.repository.ProductChildrenWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class ImageService {
+    private final Logger logger = LoggerFactory.getLogger(ImageService.class);
     private final ImageRepository imageRepository;
     private final IProductRepository productRepository;
+    private final ImageStorageService imageStorageService;
+    private final ThumbnailService thumbnailService;
+    private final ProductChildrenWriter childrenWriter;
 
-    public ImageService(ImageRepository imageRepository, IProductRepository productRepository) {
+    public ImageService(ImageRepository imageRepository, IProductRepository productRepository,
+                        ImageStorageService imageStorageService, ThumbnailService thumbnailService,
+                        ProductChildrenWriter childrenWriter) {
         this.imageRepository = imageRepository;
         this.productRepository = productRepository;
+        this.imageStorageService = imageStorageService;
+        this.thumbnailService = thumbnailService;
+        this.childrenWriter = childrenWriter;
     }
 
     public Image saveImage(Long productId, String imageUrl, Integer displayOrder) {
@@ -33,6 +50,42 @@ public class ImageService {
         return imageRepository.save(image);
     }
 
+    /**
+     * Agrega varias imágenes al final de la galería con un único INSERT por lotes: el producto se
+     * verifica una vez y el orden se asigna según la lista. La fila del producto queda bloqueada hasta el
+     * commit, así dos lotes simultáneos no calculan el mismo máximo de display_order.
+     */
+    @Transactional
+    public List<Image> saveImages(Long productId, List<String> imageUrls) {
+        Product product = productRepository.findByIdForUpdate(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado"));
+        int firstOrder = imageRepository.findMaxDisplayOrder(productId) + 1;
+
+        List<Image> images = new ArrayList<>(imageUrls.size());
+        for (int i = 0; i < imageUrls.size(); i++) {
+            images.add(new Image(null, imageUrls.get(i), firstOrder + i, product));
+        }
+        childrenWriter.insertImages(productId, images);
+        logger.info("saveImages - " + images.size() + " imágenes agregadas al producto " + productId);
+        return images;
+    }
+
+    // Guarda el archivo en el almacenamiento local y registra su url pública en la galería del producto
+    public Image saveImageFile(Long productId, InputStream content, Integer displayOrder, String baseUrl) {
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado"));
+        ImageStorageService.StoredImage stored = imageStorageService.store(content);
+
+        Image image = new Image();
+        image.setProduct(product);
+        image.setImageUrl(baseUrl + "/api/v1/images/content/" + stored.fileName());
+        image.setContentHash(stored.hash());
+        image.setDisplayOrder(displayOrder);
+        Image saved = imageRepository.save(image);
+        thumbnailService.schedule(saved);
+        return saved;
+    }
+
     public List<Image> getImagesByProduct(Long productId) {
         return imageRepository.findByProductId(productId);
     }
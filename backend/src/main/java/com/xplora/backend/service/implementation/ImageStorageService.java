@@ -0,0 +1,178 @@
+package com.xplora.backend.service.implementation;
+
+import com.xplora.backend.exception.BadRequestException;
+import com.xplora.backend.exception.ResourceNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Almacenamiento local de imágenes direccionado por contenido: cada archivo se guarda como
+ * {sha256}.{ext} en un subdirectorio con los dos primeros caracteres del hash. Subir dos veces
+ * la misma imagen reutiliza el archivo existente, y como el contenido de un nombre nunca cambia
+ * puede cachearse como inmutable.
+ */
+@Service
+public class ImageStorageService {
+    private final Logger logger = LoggerFactory.getLogger(ImageStorageService.class);
+    private static final Pattern FILE_NAME = Pattern.compile("^[0-9a-f]{64}(-[0-9]{2,4})?\\.(png|jpg|gif|webp)$");
+
+    private final Path root;
+    private final long maxBytes;
+
+    public ImageStorageService(@Value("${images.storage.dir:./data/images}") String storageDir,
+                               @Value("${images.storage.max-bytes:10485760}") long maxBytes) {
+        this.root = Path.of(storageDir).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+    }
+
+    public record StoredImage(String hash, String extension, long size, boolean created) {
+        public String fileName() {
+            return hash + "." + extension;
+        }
+    }
+
+    public StoredImage store(InputStream content) {
+        try {
+            Files.createDirectories(root);
+            Path temp = Files.createTempFile(root, "upload-", ".tmp");
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                byte[] header = new byte[12];
+                long size;
+                try (OutputStream out = new DigestOutputStream(Files.newOutputStream(temp), digest)) {
+                    int headerLength = content.readNBytes(header, 0, header.length);
+                    out.write(header, 0, headerLength);
+                    size = headerLength + copyLimited(content, out);
+                }
+                String extension = detectExtension(header);
+                String hash = HexFormat.of().formatHex(digest.digest());
+                Path target = pathOf(hash, extension);
+                if (Files.exists(target)) {
+                    logger.info("store - Imagen ya almacenada, se reutiliza: " + target.getFileName());
+                    return new StoredImage(hash, extension, size, false);
+                }
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // Otra subida idéntica terminó primero
+                    return new StoredImage(hash, extension, size, false);
+                }
+                logger.info("store - Imagen almacenada: " + target.getFileName() + " (" + size + " bytes)");
+                return new StoredImage(hash, extension, size, true);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Ruta del archivo para un nombre {sha256}.{ext} o {sha256}-{ancho}.{ext}; cualquier otro nombre se trata como inexistente.
+     */
+    public Path resolve(String fileName) {
+        if (!FILE_NAME.matcher(fileName).matches()) {
+            throw new ResourceNotFoundException("Imagen no encontrada");
+        }
+        int dot = fileName.indexOf('.');
+        Path path = pathOf(fileName.substring(0, dot), fileName.substring(dot + 1));
+        if (!Files.isRegularFile(path)) {
+            throw new ResourceNotFoundException("Imagen no encontrada");
+        }
+        return path;
+    }
+
+    public Path sourcePath(String hash, String extension) {
+        return pathOf(hash, extension);
+    }
+
+    public boolean variantExists(String hash, int width, String extension) {
+        return Files.exists(pathOf(hash + "-" + width, extension));
+    }
+
+    /**
+     * Escribe una variante {sha256}-{ancho}.{ext}; se escribe a un temporal y se mueve, para que
+     * nunca se sirva un archivo a medio escribir.
+     */
+    public void storeVariant(String hash, int width, String extension, VariantWriter writer) throws IOException {
+        Path target = pathOf(hash + "-" + width, extension);
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), "variant-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @FunctionalInterface
+    public interface VariantWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    public static String contentType(String fileName) {
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+        return switch (extension) {
+            case "png" -> "image/png";
+            case "jpg" -> "image/jpeg";
+            case "gif" -> "image/gif";
+            case "webp" -> "image/webp";
+            default -> "application/octet-stream";
+        };
+    }
+
+    private Path pathOf(String name, String extension) {
+        return root.resolve(name.substring(0, 2)).resolve(name + "." + extension);
+    }
+
+    private long copyLimited(InputStream in, OutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+            total += read;
+            if (total > maxBytes) {
+                throw new BadRequestException("La imagen supera el tamaño máximo de " + maxBytes + " bytes");
+            }
+            out.write(buffer, 0, read);
+        }
+        return total;
+    }
+
+    // El tipo se decide por los primeros bytes del archivo, no por el nombre ni el Content-Type del cliente
+    private static String detectExtension(byte[] header) {
+        if (header[0] == (byte) 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G') {
+            return "png";
+        }
+        if (header[0] == (byte) 0xFF && header[1] == (byte) 0xD8 && header[2] == (byte) 0xFF) {
+            return "jpg";
+        }
+        if (header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return "gif";
+        }
+        if (header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+            return "webp";
+        }
+        throw new BadRequestException("Formato de imagen no soportado (png, jpg, gif o webp)");
+    }
+}
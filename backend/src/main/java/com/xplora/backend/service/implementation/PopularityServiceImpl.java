@@ -0,0 +1,225 @@
+package com.xplora.backend.service.implementation;
+
+import com.xplora.backend.dto.response.ProductPopularityResponseDto;
+import com.xplora.backend.entity.ProductCounter;
+import com.xplora.backend.repository.IProductCounterRepository;
+import com.xplora.backend.service.IPopularityService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Service
+public class PopularityServiceImpl implements IPopularityService {
+    private final Logger logger = LoggerFactory.getLogger(PopularityServiceImpl.class);
+
+    private static final String MYSQL_UPSERT = "INSERT INTO product_counters " +
+            "(product_id, favorites_added, favorites_removed, views, bookings, updated_at) VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE favorites_added = favorites_added + VALUES(favorites_added), " +
+            "favorites_removed = favorites_removed + VALUES(favorites_removed), views = views + VALUES(views), " +
+            "bookings = bookings + VALUES(bookings), updated_at = VALUES(updated_at)";
+
+    private static final String MERGE_UPSERT = "MERGE INTO product_counters c USING (VALUES (?, ?, ?, ?, ?, ?)) " +
+            "AS d (product_id, favorites_added, favorites_removed, views, bookings, updated_at) ON c.product_id = d.product_id " +
+            "WHEN MATCHED THEN UPDATE SET favorites_added = c.favorites_added + d.favorites_added, " +
+            "favorites_removed = c.favorites_removed + d.favorites_removed, views = c.views + d.views, " +
+            "bookings = c.bookings + d.bookings, updated_at = d.updated_at " +
+            "WHEN NOT MATCHED THEN INSERT (product_id, favorites_added, favorites_removed, views, bookings, updated_at) " +
+            "VALUES (d.product_id, d.favorites_added, d.favorites_removed, d.views, d.bookings, d.updated_at)";
+
+    private static final int FAVORITES_ADDED = 0;
+    private static final int FAVORITES_REMOVED = 1;
+    private static final int VIEWS = 2;
+    private static final int BOOKINGS = 3;
+    private static final int METRICS = 4;
+    private static final int STRIPE_WIDTH = 8;
+    private static final int STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+    private final IProductCounterRepository productCounterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    // Contadores pendientes de volcar, repartidos en franjas por hilo para no competir por una misma celda
+    private final ConcurrentHashMap<Long, PendingCounters> pending = new ConcurrentHashMap<>();
+    // Entradas quitadas de pending en el volcado anterior: un hilo que tomó la referencia justo antes de quitarla
+    // todavía puede sumar en ellas, así que se drenan una vez más antes de descartarlas
+    private List<Map.Entry<Long, PendingCounters>> retired = new ArrayList<>();
+    private volatile String upsertSql;
+
+    public PopularityServiceImpl(IProductCounterRepository productCounterRepository, JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager) {
+        this.productCounterRepository = productCounterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void recordFavoriteAdded(Long productId) {
+        countersOf(productId).increment(FAVORITES_ADDED);
+    }
+
+    @Override
+    public void recordFavoriteRemoved(Long productId) {
+        countersOf(productId).increment(FAVORITES_REMOVED);
+    }
+
+    @Override
+    public void recordView(Long productId) {
+        countersOf(productId).increment(VIEWS);
+    }
+
+    @Override
+    public void recordBooking(Long productId) {
+        countersOf(productId).increment(BOOKINGS);
+    }
+
+    @Override
+    public List<ProductPopularityResponseDto> getAllPopularity() {
+        logger.info("getAllPopularity - Obteniendo contadores de popularidad de todos los productos ...");
+        List<ProductPopularityResponseDto> popularity = new ArrayList<>(getPopularityByProductId().values());
+        popularity.sort(Comparator.comparing(ProductPopularityResponseDto::getViews).reversed());
+        return popularity;
+    }
+
+    // Valores persistidos más los incrementos que aún no se han volcado
+    @Override
+    public Map<Long, ProductPopularityResponseDto> getPopularityByProductId() {
+        Map<Long, ProductPopularityResponseDto> popularity = new HashMap<>();
+        for (ProductCounter counter : productCounterRepository.findAll()) {
+            popularity.put(counter.getProductId(), new ProductPopularityResponseDto(
+                    counter.getProductId(),
+                    counter.getFavoritesAdded(),
+                    counter.getFavoritesRemoved(),
+                    counter.getViews(),
+                    counter.getBookings()
+            ));
+        }
+        pending.forEach((productId, counters) -> {
+            ProductPopularityResponseDto dto = popularity.computeIfAbsent(productId,
+                    id -> new ProductPopularityResponseDto(id, 0L, 0L, 0L, 0L));
+            dto.setFavoritesAdded(dto.getFavoritesAdded() + counters.sum(FAVORITES_ADDED));
+            dto.setFavoritesRemoved(dto.getFavoritesRemoved() + counters.sum(FAVORITES_REMOVED));
+            dto.setViews(dto.getViews() + counters.sum(VIEWS));
+            dto.setBookings(dto.getBookings() + counters.sum(BOOKINGS));
+        });
+        return popularity;
+    }
+
+    // Vuelca los incrementos acumulados con un único upsert por lotes, todo o nada en una transacción
+    @Override
+    @Scheduled(fixedDelayString = "${popularity.flush-interval-ms:30000}")
+    public synchronized void flush() {
+        Map<Long, long[]> deltas = new HashMap<>();
+        for (Map.Entry<Long, PendingCounters> entry : retired) {
+            drainInto(deltas, entry.getKey(), entry.getValue());
+        }
+        retired = new ArrayList<>();
+        pending.forEach((productId, counters) -> {
+            // Los productos sin incrementos desde el último volcado salen del mapa para que no crezca sin límite
+            if (!drainInto(deltas, productId, counters) && pending.remove(productId, counters)) {
+                retired.add(Map.entry(productId, counters));
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<long[]> batch = new ArrayList<>(deltas.values());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(upsertSql(), batch, batch.size(), (ps, delta) -> {
+                        for (int i = 0; i < delta.length; i++) {
+                            ps.setLong(i + 1, delta[i]);
+                        }
+                        ps.setTimestamp(6, now);
+                    }));
+            logger.info("flush - Contadores de popularidad volcados para " + batch.size() + " productos");
+        } catch (RuntimeException e) {
+            // La transacción se revirtió completa: se devuelven los incrementos para reintentar en el siguiente volcado
+            logger.error("flush - No se pudieron volcar los contadores de popularidad: " + e.getMessage());
+            for (long[] delta : batch) {
+                PendingCounters counters = countersOf(delta[0]);
+                for (int metric = 0; metric < METRICS; metric++) {
+                    counters.add(metric, delta[metric + 1]);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Suma lo drenado de counters al delta del producto; devuelve false si no había nada pendiente
+    private static boolean drainInto(Map<Long, long[]> deltas, Long productId, PendingCounters counters) {
+        long[] drained = new long[METRICS];
+        boolean any = false;
+        for (int metric = 0; metric < METRICS; metric++) {
+            drained[metric] = counters.drain(metric);
+            any |= drained[metric] != 0;
+        }
+        if (any) {
+            long[] delta = deltas.computeIfAbsent(productId, id -> new long[]{id, 0, 0, 0, 0});
+            for (int metric = 0; metric < METRICS; metric++) {
+                delta[metric + 1] += drained[metric];
+            }
+        }
+        return any;
+    }
+
+    private PendingCounters countersOf(Long productId) {
+        return pending.computeIfAbsent(productId, id -> new PendingCounters());
+    }
+
+    private String upsertSql() {
+        if (upsertSql == null) {
+            String databaseName = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            upsertSql = "MySQL".equalsIgnoreCase(databaseName) ? MYSQL_UPSERT : MERGE_UPSERT;
+        }
+        return upsertSql;
+    }
+
+    // Cada franja ocupa su propia línea de caché (8 longs) con las 4 métricas
+    private static class PendingCounters {
+        private final AtomicLongArray cells = new AtomicLongArray(STRIPES * STRIPE_WIDTH);
+
+        void increment(int metric) {
+            add(metric, 1);
+        }
+
+        void add(int metric, long value) {
+            int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+            cells.addAndGet(stripe * STRIPE_WIDTH + metric, value);
+        }
+
+        long sum(int metric) {
+            long sum = 0;
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                sum += cells.get(stripe * STRIPE_WIDTH + metric);
+            }
+            return sum;
+        }
+
+        // Lee y pone en cero cada franja de forma atómica, sin perder incrementos concurrentes
+        long drain(int metric) {
+            long sum = 0;
+            for (int stripe = 0; stripe < STRIPES; stripe++) {
+                sum += cells.getAndSet(stripe * STRIPE_WIDTH + metric, 0);
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.xplora.backend.service.implementation;
+
+import com.xplora.backend.entity.Product;
+import org.hibernate.Hibernate;
+
+import java.util.Collection;
+
+/**
+ * Carga las colecciones que se serializan con un producto (imágenes, disponibilidades y características)
+ * mientras la transacción del servicio sigue abierta; sin open-in-view, Jackson ya no puede hacerlo.
+ * Con hibernate.default_batch_fetch_size, recorrer una lista carga cada colección por lotes y no una por producto.
+ */
+final class ProductFetchPlan {
+
+    private ProductFetchPlan() {
+    }
+
+    static Product initialize(Product product) {
+        Hibernate.initialize(product.getImageSet());
+        Hibernate.initialize(product.getAvailabilitySet());
+        Hibernate.initialize(product.getFeatures());
+        return product;
+    }
+
+    static <T extends Collection<Product>> T initialize(T products) {
+        for (Product product : products) {
+            initialize(product);
+        }
+        return products;
+    }
+}
@@ -0,0 +1,72 @@
+package com.xplora.backend.service.implementation;
+
+import com.xplora.backend.entity.Category;
+import com.xplora.backend.entity.City;
+import com.xplora.backend.entity.Feature;
+import com.xplora.backend.exception.BadRequestException;
+import com.xplora.backend.exception.ResourceNotFoundException;
+import com.xplora.backend.repository.ICategoryRepository;
+import com.xplora.backend.repository.ICityRepository;
+import com.xplora.backend.repository.IFeatureRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resuelve la ciudad, la categoría y las características referenciadas por un producto con a lo
+ * sumo una consulta por tipo, y reporta todos los ids inexistentes en un solo error. Como antes, una
+ * ciudad inexistente responde 400 y una categoría o característica inexistente 404.
+ */
+@Component
+public class ProductReferenceResolver {
+
+    private final ICityRepository cityRepository;
+    private final ICategoryRepository categoryRepository;
+    private final IFeatureRepository featureRepository;
+
+    public ProductReferenceResolver(ICityRepository cityRepository,
+                                    ICategoryRepository categoryRepository,
+                                    IFeatureRepository featureRepository) {
+        this.cityRepository = cityRepository;
+        this.categoryRepository = categoryRepository;
+        this.featureRepository = featureRepository;
+    }
+
+    public ProductReferences resolve(Integer cityId, Long categoryId, List<Long> featureIds) {
+        Optional<City> city = cityRepository.findById(cityId);
+        Optional<Category> category = categoryRepository.findById(categoryId);
+        // Ids repetidos se ignoran; el orden de la solicitud se conserva
+        List<Long> distinctFeatureIds = new ArrayList<>(new LinkedHashSet<>(featureIds));
+        Map<Long, Feature> featuresById = featureRepository.findAllById(distinctFeatureIds).stream()
+                .collect(Collectors.toMap(Feature::getId, Function.identity()));
+
+        List<String> missing = new ArrayList<>();
+        if (city.isEmpty()) {
+            missing.add("ciudad " + cityId);
+        }
+        if (category.isEmpty()) {
+            missing.add("categoría " + categoryId);
+        }
+        List<Long> missingFeatures = distinctFeatureIds.stream()
+                .filter(id -> !featuresById.containsKey(id))
+                .toList();
+        if (!missingFeatures.isEmpty()) {
+            missing.add("características " + missingFeatures);
+        }
+        if (!missing.isEmpty()) {
+            String message = "No existen: " + String.join(", ", missing);
+            throw city.isEmpty() ? new BadRequestException(message) : new ResourceNotFoundException(message);
+        }
+
+        List<Feature> features = new ArrayList<>(distinctFeatureIds.size());
+        for (Long id : distinctFeatureIds) {
+            features.add(featuresById.get(id));
+        }
+        return new ProductReferences(city.get(), category.get(), features);
+    }
+
+    public record ProductReferences(City city, Category category, List<Feature> features) {
+    }
+}
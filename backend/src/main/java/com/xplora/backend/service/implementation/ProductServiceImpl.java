@@ -1,97 +1,152 @@
 package com.xplora.backend.service.implementation;
 
+import com.xplora.backend.dto.mapper.ProductMapper;
 import com.xplora.backend.dto.request.ProductRequestDto;
-import com.xplora.backend.dto.response.AvailabilityResponseDto;
-import com.xplora.backend.dto.response.CityResponseDto;
+import com.xplora.backend.dto.response.ProductCardResponseDto;
+import com.xplora.backend.dto.response.ProductPopularityResponseDto;
 import com.xplora.backend.dto.response.ProductResponseDto;
 import com.xplora.backend.entity.*;
 import com.xplora.backend.exception.BadRequestException;
 import com.xplora.backend.exception.ResourceNotFoundException;
 import com.xplora.backend.repository.IProductRepository;
-import com.xplora.backend.service.ICityService;
+import com.xplora.backend.repository.ImageRepository;
+import com.xplora.backend.repository.ProductChildrenWriter;
+import com.xplora.backend.service.IPopularityService;
 import com.xplora.backend.service.IProductService;
-import org.modelmapper.ModelMapper;
+import com.xplora.backend.utils.JsonStreamWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class ProductServiceImpl implements IProductService {
     private final Logger logger = LoggerFactory.getLogger(ProductServiceImpl.class);
     private IProductRepository productRepository;
-    private ICityService cityService;
-    private CategoryService categoryService;
     private FeatureService featureService;
-    @Autowired
-    private ModelMapper modelMapper;
-
-    public ProductServiceImpl(IProductRepository iProductRepository, ICityService cityService, CategoryService categoryService, FeatureService featureService) {
+    private ImageRepository imageRepository;
+    private IPopularityService popularityService;
+    private ProductReferenceResolver referenceResolver;
+    private ProductChildrenWriter childrenWriter;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductServiceImpl(IProductRepository iProductRepository, FeatureService featureService, ImageRepository imageRepository,
+                              IPopularityService popularityService, ProductReferenceResolver referenceResolver,
+                              ProductChildrenWriter childrenWriter) {
         this.productRepository = iProductRepository;
-        this.cityService = cityService;
-        this.categoryService = categoryService;
         this.featureService = featureService;
+        this.imageRepository = imageRepository;
+        this.popularityService = popularityService;
+        this.referenceResolver = referenceResolver;
+        this.childrenWriter = childrenWriter;
     }
 
     @Override
+    @Transactional
     public ProductResponseDto saveProduct(ProductRequestDto productRequestDto) {
         logger.info("saveProduct - Guardando producto: " + productRequestDto);
         if (productRepository.existsByName(productRequestDto.getName())) {
             throw new DataIntegrityViolationException("El nombre del producto ya esta registrado");
         }
 
-        City city = cityService.findById(productRequestDto.getCity_id());
-
-        Product product = modelMapper.map(productRequestDto, Product.class);
-        product.setCity(city);
-
-        for (Image image : product.getImageSet()) {
-            image.setProduct(product);
-        }
-
-        for (Availability availability : product.getAvailabilitySet()) {
-            availability.setProduct(product);
-            availability.setRemainingCapacity(product.getCapacity());
-        }
+        ProductReferenceResolver.ProductReferences references = referenceResolver.resolve(
+                productRequestDto.getCity_id(), productRequestDto.getCategory_id(), productRequestDto.getFeatures_ids());
 
-        Category category = categoryService.findById(productRequestDto.getCategory_id());
-        product.setCategory(category);
+        Product product = ProductMapper.toEntity(productRequestDto);
+        product.setCity(references.city());
+        product.setCategory(references.category());
+        product.setFeatures(references.features());
 
-        List<Feature> features = featureService.findByIds(productRequestDto.getFeatures_ids());
-        product.setFeatures(features);
+        // Las colecciones hijas no pasan por Hibernate: se insertan por lotes después del producto
+        Set<Image> images = product.getImageSet();
+        Set<Availability> availabilities = product.getAvailabilitySet();
+        product.setImageSet(new HashSet<>());
+        product.setAvailabilitySet(new HashSet<>());
 
         Product productDB = productRepository.save(product);
-        return productToResponse(productDB);
+        return saveChildren(productDB, images, availabilities);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ProductResponseDto getProductById(Long id) {
         logger.info("getProductById - Obteniendo producto con id: " + id);
         Product productDB = productRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Producto no encontrado"));
 
+        popularityService.recordView(id);
         return productToResponse(productDB);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ProductResponseDto> getAllProducts() {
         logger.info("getAllProducts - Obteniendo todos los productos ...");
         List<Product> productsDB = productRepository.findAll();
 
         List<ProductResponseDto> productResponseDtoList = new ArrayList<>();
         for (Product product : productsDB) {
-            productResponseDtoList.add(modelMapper.map(product, ProductResponseDto.class));
+            productResponseDtoList.add(ProductMapper.toResponse(product));
         }
         return productResponseDtoList;
     }
 
+    // Recorre todos los productos con un cursor; el consumidor debe escribir cada elemento sin acumularlos
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<Stream<ProductResponseDto>> consumer) {
+        logger.info("streamAllProducts - Exportando todos los productos ...");
+        try (Stream<Product> products = productRepository.streamAll()) {
+            consumer.accept(JsonStreamWriter.mapAndClear(products, ProductMapper::toResponse, entityManager, 50));
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ProductCardResponseDto> getProductCards() {
+        logger.info("getProductCards - Obteniendo tarjetas de todos los productos ...");
+        List<Product> productsDB = productRepository.findAllWithCityAndCategory();
+
+        // Primera imagen de la galería de cada producto, en su variante más chica si existe
+        Map<Long, String> coverUrls = new HashMap<>();
+        for (ImageRepository.ImageUrlView image : imageRepository.findAllImageUrls()) {
+            if (!coverUrls.containsKey(image.getProductId())) {
+                coverUrls.put(image.getProductId(), ImageVariant.smallestUrl(image.getImageUrl(), image.getVariantSizes()));
+            }
+        }
+        Map<Long, ProductPopularityResponseDto> popularity = popularityService.getPopularityByProductId();
+
+        List<ProductCardResponseDto> productCardResponseDtoList = new ArrayList<>();
+        for (Product product : productsDB) {
+            ProductPopularityResponseDto productPopularity = popularity.get(product.getId());
+            productCardResponseDtoList.add(new ProductCardResponseDto(
+                    product.getId(),
+                    product.getName(),
+                    product.getPrice(),
+                    product.getAverageScore(),
+                    product.getCountScores(),
+                    product.getCity().getName(),
+                    product.getCity().getCountry(),
+                    product.getCategory() != null ? product.getCategory().getTitle() : null,
+                    coverUrls.get(product.getId()),
+                    productPopularity != null ? productPopularity.getFavorites() : 0L,
+                    productPopularity != null ? productPopularity.getViews() : 0L,
+                    productPopularity != null ? productPopularity.getBookings() : 0L
+            ));
+        }
+        return productCardResponseDtoList;
+    }
+
     @Override
+    @Transactional
     public ProductResponseDto updateProduct(Long id, ProductRequestDto productRequestDto) {
         logger.info("updateProduct - Actualizando producto con id: " + id + " a " + productRequestDto);
         Product productFound = productRepository.findById(id)
@@ -102,32 +157,40 @@ public class ProductServiceImpl implements IProductService {
             throw new DataIntegrityViolationException("El nombre del producto ya está registrado");
         }
 
-        City cityFound = cityService.findById(productRequestDto.getCity_id());
-
-        Product product = modelMapper.map(productRequestDto, Product.class);
-        product.setCreatedAt(productFound.getCreatedAt());
-        product.setId(id);
-        product.setAverageScore(productFound.getAverageScore());
-        product.setCountScores(productFound.getCountScores());
-
-        product.setCity(cityFound);
-
-        for (Image image : product.getImageSet()) {
-            image.setProduct(product);
-        }
+        ProductReferenceResolver.ProductReferences references = referenceResolver.resolve(
+                productRequestDto.getCity_id(), productRequestDto.getCategory_id(), productRequestDto.getFeatures_ids());
+
+        Product product = ProductMapper.toEntity(productRequestDto);
+        productFound.setName(product.getName());
+        productFound.setDescription(product.getDescription());
+        productFound.setPrice(product.getPrice());
+        productFound.setCapacity(product.getCapacity());
+        productFound.setAddress(product.getAddress());
+        productFound.setCity(references.city());
+        productFound.setCategory(references.category());
+        productFound.setFeatures(references.features());
+
+        // Imágenes y disponibilidades se reemplazan completas: un DELETE y un lote de INSERT por tabla
+        childrenWriter.deleteByProductId(id);
+        Product productDB = productRepository.save(productFound);
+        return saveChildren(productDB, product.getImageSet(), product.getAvailabilitySet());
+    }
 
-        for (Availability availability : product.getAvailabilitySet()) {
-            availability.setProduct(product);
-            availability.setRemainingCapacity(product.getCapacity());
+    // Inserta las colecciones hijas por lotes y arma la respuesta con ellas, sin volver a leerlas
+    private ProductResponseDto saveChildren(Product productDB, Set<Image> images, Set<Availability> availabilities) {
+        productRepository.flush();
+        for (Availability availability : availabilities) {
+            availability.setRemainingCapacity(productDB.getCapacity());
         }
-
-        Category category = categoryService.findById(productRequestDto.getCategory_id());
-        product.setCategory(category);
-
-        List<Feature> features = featureService.findByIds(productRequestDto.getFeatures_ids());
-        product.setFeatures(features);
-
-        Product productDB = productRepository.save(product);
+        childrenWriter.insertImages(productDB.getId(), new ArrayList<>(images));
+        childrenWriter.insertAvailabilities(productDB.getId(), new ArrayList<>(availabilities));
+
+        // Desacoplado para que Hibernate no intente sincronizar las colecciones escritas por JDBC
+        entityManager.detach(productDB);
+        images.forEach(image -> image.setProduct(productDB));
+        availabilities.forEach(availability -> availability.setProduct(productDB));
+        productDB.setImageSet(images);
+        productDB.setAvailabilitySet(availabilities);
         return productToResponse(productDB);
     }
 
@@ -141,14 +204,16 @@ public class ProductServiceImpl implements IProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Product> getProductsByCategory(Long categoryId) {
-        return productRepository.findByCategoryId(categoryId);
+        return ProductFetchPlan.initialize(productRepository.findByCategoryId(categoryId));
     }
 
+    @Transactional(readOnly = true)
     public List<Product> getProductsByFeatureId(Long featureId) {
         Feature feature = featureService.findById(featureId)
                 .orElseThrow(() -> new RuntimeException("Característica no encontrada"));
-        return feature.getProducts();
+        return ProductFetchPlan.initialize(new ArrayList<>(feature.getProducts()));
     }
 
     @Override
@@ -181,15 +246,6 @@ public class ProductServiceImpl implements IProductService {
     }
 
     public ProductResponseDto productToResponse(Product product) {
-        ProductResponseDto productResponseDto = modelMapper.map(product, ProductResponseDto.class);
-        productResponseDto.setCity(modelMapper.map(product.getCity(), CityResponseDto.class));
-
-        Set<AvailabilityResponseDto> availabilities = new HashSet<>();
-        for (Availability availability : product.getAvailabilitySet()) {
-            availabilities.add(modelMapper.map(availability, AvailabilityResponseDto.class));
-        }
-        productResponseDto.setAvailabilitySet(availabilities);
-
-        return productResponseDto;
+        return ProductMapper.toResponse(product);
     }
 }
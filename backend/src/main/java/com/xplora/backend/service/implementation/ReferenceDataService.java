@@ -0,0 +1,148 @@
+package com.xplora.backend.service.implementation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplora.backend.dto.response.BootstrapResponseDto;
+import com.xplora.backend.event.ReferenceDataChangedEvent;
+import com.xplora.backend.repository.ICategoryRepository;
+import com.xplora.backend.repository.ICityRepository;
+import com.xplora.backend.repository.IFeatureRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Foto inmutable de categorías, ciudades y características, ya serializada a JSON. Se reconstruye
+ * completa ante cada escritura de un administrador y se reemplaza con una sola asignación, así
+ * que las lecturas nunca ven una mezcla de versiones ni tocan la base de datos.
+ * Cada escritura incrementa reference_data_version; las demás instancias comparan esa versión cada
+ * reference-data.sync-interval-ms y reconstruyen su foto si cambió. Como respaldo, una foto más vieja
+ * que reference-data.max-age-ms (el TTL de la caché de segundo nivel) se reconstruye igual.
+ */
+@Service
+public class ReferenceDataService {
+    private final Logger logger = LoggerFactory.getLogger(ReferenceDataService.class);
+
+    private final ICategoryRepository categoryRepository;
+    private final ICityRepository cityRepository;
+    private final IFeatureRepository featureRepository;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final long maxAgeMs;
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataService(ICategoryRepository categoryRepository,
+                                ICityRepository cityRepository,
+                                IFeatureRepository featureRepository,
+                                ObjectMapper objectMapper,
+                                JdbcTemplate jdbcTemplate,
+                                @Value("${reference-data.max-age-ms:600000}") long maxAgeMs) {
+        this.categoryRepository = categoryRepository;
+        this.cityRepository = cityRepository;
+        this.featureRepository = featureRepository;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    public Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : rebuild();
+    }
+
+    // Tras los CommandLineRunner: reemplaza cualquier foto tomada antes de que terminara la carga inicial
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // En la misma transacción que el cambio (o justo después si la escritura no tenía transacción)
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void incrementVersion(ReferenceDataChangedEvent event) {
+        jdbcTemplate.update("UPDATE reference_data_version SET version = version + 1 WHERE id = 1");
+    }
+
+    // Después del commit, para que la nueva foto incluya el cambio que la disparó (y la versión incrementada)
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+        logger.info("onReferenceDataChanged - Cambio en " + event.type() + ", reconstruyendo datos de referencia");
+        rebuild();
+    }
+
+    // Cambios hechos en otras instancias: una consulta de una fila por intervalo
+    @Scheduled(fixedDelayString = "${reference-data.sync-interval-ms:10000}", initialDelayString = "${reference-data.sync-interval-ms:10000}")
+    public void sync() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        long version = currentVersion();
+        if (version != current.data().version()) {
+            logger.info("sync - Versión " + version + " en la base de datos (local " + current.data().version() + "), reconstruyendo datos de referencia");
+            rebuild();
+        } else if (System.currentTimeMillis() - current.builtAt() > maxAgeMs) {
+            rebuild();
+        }
+    }
+
+    private long currentVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM reference_data_version WHERE id = 1", Long.class);
+    }
+
+    // Sincronizado para que la última reconstrucción lea siempre el último estado de la base de datos.
+    // La versión se lee antes que los datos: si cambian entre ambas lecturas, el próximo sync reconstruye otra vez
+    private synchronized Snapshot rebuild() {
+        long builtAt = System.currentTimeMillis();
+        BootstrapResponseDto data = new BootstrapResponseDto(
+                currentVersion(),
+                categoryRepository.findAll().stream()
+                        .map(c -> new BootstrapResponseDto.CategoryItem(c.getId(), c.getTitle(), c.getDescription(), c.getImageUrl()))
+                        .toList(),
+                cityRepository.findAll().stream()
+                        .map(c -> new BootstrapResponseDto.CityItem(c.getId(), c.getName(), c.getCountry()))
+                        .toList(),
+                featureRepository.findAll().stream()
+                        .map(f -> new BootstrapResponseDto.FeatureItem(f.getId(), f.getName(), f.getIconUrl()))
+                        .toList()
+        );
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(data);
+            // ETag fuerte: hash de los mismos bytes que se envían, que incluyen la versión
+            String etag = "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16) + "\"";
+            Snapshot rebuilt = new Snapshot(data, json, etag, builtAt);
+            snapshot = rebuilt;
+            return rebuilt;
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("No se pudieron serializar los datos de referencia", e);
+        }
+    }
+
+    public record Snapshot(BootstrapResponseDto data, byte[] json, String etag, long builtAt) {
+        public List<BootstrapResponseDto.CategoryItem> categories() {
+            return data.categories();
+        }
+
+        public List<BootstrapResponseDto.CityItem> cities() {
+            return data.cities();
+        }
+
+        public List<BootstrapResponseDto.FeatureItem> features() {
+            return data.features();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.xplora.backend.service.implementation;
 
+import com.xplora.backend.dto.mapper.ReviewMapper;
 import com.xplora.backend.dto.request.ReviewRequestDto;
 import com.xplora.backend.dto.response.ReviewResponseDto;
 import com.xplora.backend.entity.Booking;
@@ -11,12 +12,11 @@ import com.xplora.backend.repository.IReviewRepository;
 import com.xplora.backend.service.IBookingService;
 import com.xplora.backend.service.IProductService;
 import com.xplora.backend.service.IReviewService;
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -28,8 +28,6 @@ public class ReviewServiceImpl implements IReviewService {
     private IReviewRepository reviewRepository;
     private IBookingService bookingService;
     private IProductService productService;
-    @Autowired
-    private ModelMapper modelMapper;
 
     public ReviewServiceImpl(IReviewRepository reviewRepository, IBookingService bookingService, IProductService productService) {
         this.reviewRepository = reviewRepository;
@@ -60,17 +58,18 @@ public class ReviewServiceImpl implements IReviewService {
 
         productService.updateAverageScore(booking.getProduct().getId(), reviewRequestDto.getScore());
 
-        Review review = modelMapper.map(reviewRequestDto, Review.class);
+        Review review = ReviewMapper.toEntity(reviewRequestDto);
         review.setProduct(booking.getProduct());
         review.setBooking(booking);
         Review reviewDB = reviewRepository.save(review);
 
-        ReviewResponseDto reviewResponseDto = modelMapper.map(reviewDB, ReviewResponseDto.class);
+        ReviewResponseDto reviewResponseDto = ReviewMapper.toResponse(reviewDB);
         reviewResponseDto.setUserFullName(user.getFirstname() + " " + user.getLastname());
         return reviewResponseDto;
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<ReviewResponseDto> getReviewsByProductId(Long productId) {
         logger.info("getReviewsByProductId - Obteniendo reseñas del producto con id: " + productId);
         if (!productService.existsById(productId)) {
@@ -83,7 +82,7 @@ public class ReviewServiceImpl implements IReviewService {
             String firstname = review.getBooking().getUser().getFirstname();
             String lastname = review.getBooking().getUser().getLastname();
 
-            ReviewResponseDto reviewResponseDto = modelMapper.map(review, ReviewResponseDto.class);
+            ReviewResponseDto reviewResponseDto = ReviewMapper.toResponse(review);
             reviewResponseDto.setUserFullName(firstname + " " + lastname);
             reviewResponseDtoList.add(reviewResponseDto);
         }
@@ -0,0 +1,166 @@
+package com.xplora.backend.service.implementation;
+
+import com.xplora.backend.entity.Image;
+import com.xplora.backend.entity.ImageVariant;
+import com.xplora.backend.repository.ImageRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Genera en segundo plano variantes de ancho fijo (320/640/1280) de las imágenes almacenadas
+ * localmente, en un pool acotado. Las que no entran en la cola se retoman al reiniciar, porque
+ * quedan sin variant_sizes.
+ */
+@Service
+public class ThumbnailService {
+    private final Logger logger = LoggerFactory.getLogger(ThumbnailService.class);
+    private static final int[] WIDTHS = {320, 640, 1280};
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ImageRepository imageRepository;
+    private final ImageStorageService imageStorageService;
+    private final ThreadPoolExecutor executor;
+
+    public ThumbnailService(ImageRepository imageRepository,
+                            ImageStorageService imageStorageService,
+                            @Value("${images.thumbnails.threads:2}") int threads,
+                            @Value("${images.thumbnails.queue-capacity:1000}") int queueCapacity) {
+        this.imageRepository = imageRepository;
+        this.imageStorageService = imageStorageService;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "thumbnails-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public void schedule(Image image) {
+        if (image.getContentHash() == null) {
+            return;
+        }
+        Long imageId = image.getId();
+        String hash = image.getContentHash();
+        String url = image.getImageUrl();
+        String extension = url.substring(url.lastIndexOf('.') + 1);
+        try {
+            executor.execute(() -> generate(imageId, hash, extension));
+        } catch (RejectedExecutionException e) {
+            logger.warn("schedule - Cola de miniaturas llena, la imagen " + imageId + " se procesará más tarde");
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        var pending = imageRepository.findPendingVariants();
+        if (!pending.isEmpty()) {
+            logger.info("backfill - Imágenes pendientes de variantes: " + pending.size());
+            pending.forEach(this::schedule);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void generate(Long imageId, String hash, String extension) {
+        try {
+            Path source = imageStorageService.sourcePath(hash, extension);
+            BufferedImage original = ImageIO.read(source.toFile());
+            if (original == null) {
+                // Formato sin lector en ImageIO (p. ej. webp): se marca para no reintentar
+                logger.warn("generate - No se pudo leer la imagen " + imageId + " (" + extension + ")");
+                imageRepository.updateVariantSizes(imageId, "");
+                return;
+            }
+            String variantExtension = ImageVariant.extensionFor(extension);
+            StringJoiner sizes = new StringJoiner(";");
+            for (int width : WIDTHS) {
+                if (width >= original.getWidth()) {
+                    break;
+                }
+                int height = Math.max(1, Math.round((float) original.getHeight() * width / original.getWidth()));
+                if (!imageStorageService.variantExists(hash, width, variantExtension)) {
+                    BufferedImage scaled = scale(original, width, height, "jpg".equals(variantExtension));
+                    imageStorageService.storeVariant(hash, width, variantExtension, out -> write(scaled, variantExtension, out));
+                }
+                sizes.add(width + "x" + height);
+            }
+            imageRepository.updateVariantSizes(imageId, sizes.toString());
+            logger.info("generate - Variantes de la imagen " + imageId + ": " + sizes);
+        } catch (IOException | RuntimeException e) {
+            logger.error("generate - Error al generar variantes de la imagen " + imageId + ": " + e.getMessage());
+        }
+    }
+
+    // Reduce a la mitad mientras se pueda y hace el último paso bilineal: calidad similar a bicúbico, más rápido
+    private static BufferedImage scale(BufferedImage source, int width, int height, boolean opaque) {
+        int type = opaque ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                if (opaque) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, currentWidth, currentHeight);
+                }
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (currentWidth > width || currentHeight > height);
+        return current;
+    }
+
+    private static void write(BufferedImage image, String extension, OutputStream out) throws IOException {
+        if (!"jpg".equals(extension)) {
+            ImageIO.write(image, extension, out);
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.xplora.backend.service.implementation;
 
-import com.xplora.backend.configuration.JwtService;
+import com.xplora.backend.configuration.UserPrincipalCache;
+import com.xplora.backend.dto.mapper.UserMapper;
 import com.xplora.backend.dto.request.UserRoleRequestDto;
 import com.xplora.backend.dto.response.UserResponseDto;
 import com.xplora.backend.entity.Role;
@@ -9,28 +10,32 @@ import com.xplora.backend.exception.BadRequestException;
 import com.xplora.backend.exception.ResourceNotFoundException;
 import com.xplora.backend.repository.IUserRepository;
 import com.xplora.backend.service.IUserService;
-import org.modelmapper.ModelMapper;
+import com.xplora.backend.utils.JsonStreamWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class UserServiceImpl implements IUserService {
     private final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
     private IUserRepository userRepository;
-    private JwtService jwtService;
-    @Autowired
-    private ModelMapper modelMapper;
+    private UserPrincipalCache userPrincipalCache;
+    @PersistenceContext
+    private EntityManager entityManager;
 
-    public UserServiceImpl(IUserRepository userRepository, JwtService jwtService) {
+    public UserServiceImpl(IUserRepository userRepository, UserPrincipalCache userPrincipalCache) {
         this.userRepository = userRepository;
-        this.jwtService = jwtService;
+        this.userPrincipalCache = userPrincipalCache;
     }
 
     @Override
@@ -40,12 +45,21 @@ public class UserServiceImpl implements IUserService {
 
         List<UserResponseDto> userResponseDtoList = new ArrayList<>();
         for (User user : usersDB) {
-            userResponseDtoList.add(modelMapper.map(user, UserResponseDto.class));
+            userResponseDtoList.add(UserMapper.toResponse(user));
         }
 
         return userResponseDtoList;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<Stream<UserResponseDto>> consumer) {
+        logger.info("streamAllUsers - Exportando todos los usuarios ...");
+        try (Stream<User> users = userRepository.streamAll()) {
+            consumer.accept(JsonStreamWriter.mapAndClear(users, UserMapper::toResponse, entityManager, 500));
+        }
+    }
+
     @Override
     public UserResponseDto updateUserRole(Long id, UserRoleRequestDto userRoleRequestDto) {
         logger.info("updateUserRole - Actualizando rol: " + userRoleRequestDto + " al usuario con id: " + id);
@@ -67,16 +81,8 @@ public class UserServiceImpl implements IUserService {
 
         userFound.setRole(roleFound);
         User userDB = userRepository.save(userFound);
-        return modelMapper.map(userDB, UserResponseDto.class);
-    }
-
-    @Override
-    public User getAuthenticatedUser(String authHeader) {
-        logger.info("getAuthenticatedUser - Obteniendo usuario autenticado por Bearer Token: " + authHeader);
-        String token = authHeader.substring(7); // asegurarse q es bearer
-        String userEmail = jwtService.extractUsername(token);
-        return userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("El email del usuario no existe"));
+        userPrincipalCache.evict(userDB.getEmail());
+        return UserMapper.toResponse(userDB);
     }
 
     @Override
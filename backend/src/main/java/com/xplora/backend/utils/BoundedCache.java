@@ -0,0 +1,95 @@
+package com.xplora.backend.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Cache en memoria con tamaño máximo (LRU) y expiración opcional por entrada.
+ * Todas las operaciones son sincronizadas; los valores se cargan fuera del lock. Quien carga puede tomar
+ * invalidationStamp() antes de leer la fuente y guardar con putIfNotInvalidated, así un valor leído antes de
+ * una invalidación no la pisa.
+ */
+public class BoundedCache<K, V> {
+    private final int maxSize;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    // Cantidad de remove/clear realizados; cualquier invalidación lo avanza
+    private long invalidations;
+
+    public BoundedCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize debe ser mayor a 0");
+        }
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                return size() > BoundedCache.this.maxSize;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    public synchronized void put(K key, V value) {
+        entries.put(key, new Entry<>(value, Long.MAX_VALUE));
+    }
+
+    public synchronized void put(K key, V value, long expiresAtMillis) {
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+    }
+
+    /**
+     * Guarda el valor solo si no hubo invalidaciones desde stamp (de cualquier clave, por simplicidad).
+     * Devuelve false si se descartó; el llamador igual puede usar el valor que cargó.
+     */
+    public synchronized boolean putIfNotInvalidated(K key, V value, long expiresAtMillis, long stamp) {
+        if (invalidations != stamp) {
+            return false;
+        }
+        entries.put(key, new Entry<>(value, expiresAtMillis));
+        return true;
+    }
+
+    public synchronized long invalidationStamp() {
+        return invalidations;
+    }
+
+    /**
+     * Actualiza el valor solo si la clave ya está en caché, conservando su expiración.
+     * La función se ejecuta dentro del lock, por lo que debe ser barata.
+     */
+    public synchronized void computeIfPresent(K key, UnaryOperator<V> function) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            entries.put(key, new Entry<>(function.apply(entry.value), entry.expiresAt));
+        }
+    }
+
+    public synchronized void remove(K key) {
+        entries.remove(key);
+        invalidations++;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        invalidations++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
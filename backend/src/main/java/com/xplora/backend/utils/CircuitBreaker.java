@@ -0,0 +1,34 @@
+package com.xplora.backend.utils;
+
+/**
+ * Circuit breaker simple: se abre tras failureThreshold fallos consecutivos y, pasado openMillis,
+ * deja pasar solicitudes de prueba; un éxito lo cierra y un fallo lo vuelve a abrir.
+ */
+public class CircuitBreaker {
+    private final int failureThreshold;
+    private final long openMillis;
+    private int consecutiveFailures;
+    private volatile long openUntil;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    // Lectura sin lock para rechazar rápido mientras está abierto
+    public boolean isOpen() {
+        return openUntil > System.currentTimeMillis();
+    }
+
+    public synchronized void recordSuccess() {
+        consecutiveFailures = 0;
+        openUntil = 0;
+    }
+
+    public synchronized void recordFailure() {
+        consecutiveFailures++;
+        if (consecutiveFailures >= failureThreshold) {
+            openUntil = System.currentTimeMillis() + openMillis;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.xplora.backend.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Escribe colecciones grandes como un arreglo JSON elemento por elemento, leyendo de un cursor,
+ * para que el heap y el tiempo al primer byte no dependan de la cantidad de filas.
+ */
+public final class JsonStreamWriter {
+    private static final int FLUSH_EVERY = 100;
+
+    private JsonStreamWriter() {
+    }
+
+    // Devuelve la cantidad de elementos escritos
+    public static <T> long writeArray(OutputStream out, ObjectMapper objectMapper, Stream<T> items) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            Iterator<T> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+        return count;
+    }
+
+    // Para pasar como callback a los métodos stream* de los servicios; los errores de E/S se propagan sin verificar
+    public static <T> Consumer<Stream<T>> arrayTo(OutputStream out, ObjectMapper objectMapper) {
+        return items -> {
+            try {
+                writeArray(out, objectMapper, items);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    /**
+     * Convierte cada entidad del cursor y vacía el contexto de persistencia cada {@code clearEvery}
+     * filas; sin esto Hibernate retiene todas las entidades leídas hasta el final de la transacción.
+     */
+    public static <E, D> Stream<D> mapAndClear(Stream<E> rows, Function<E, D> mapper,
+                                               EntityManager entityManager, int clearEvery) {
+        int[] mapped = {0};
+        return rows.map(row -> {
+            D dto = mapper.apply(row);
+            if (++mapped[0] % clearEvery == 0) {
+                entityManager.clear();
+            }
+            return dto;
+        });
+    }
+}
@@ -0,0 +1,198 @@
+package com.xplora.backend.utils;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.mail.MailSendException;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Envía correos desde una cola con un pool fijo de hilos; cada hilo mantiene abierta su propia
+ * conexión SMTP autenticada y envía los mensajes pendientes en lotes por esa conexión.
+ * La conexión se cierra tras idleMillis sin mensajes. Si el servidor falla repetidamente,
+ * el circuit breaker rechaza los envíos sin esperar a la red.
+ */
+public class MailDispatcher {
+    private final Logger logger = LoggerFactory.getLogger(MailDispatcher.class);
+
+    private final Session session;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final int batchSize;
+    private final long idleMillis;
+    private final BlockingQueue<PendingMail> queue;
+    private final CircuitBreaker circuitBreaker;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    public MailDispatcher(Session session, String host, int port, String username, String password,
+                          int workerCount, int queueCapacity, int batchSize, long idleMillis,
+                          CircuitBreaker circuitBreaker) {
+        this.session = session;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.batchSize = batchSize;
+        this.idleMillis = idleMillis;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.circuitBreaker = circuitBreaker;
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(this::work, "mail-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        if (!running) {
+            future.completeExceptionally(new MailSendException("El envío de correos está detenido"));
+        } else if (circuitBreaker.isOpen()) {
+            future.completeExceptionally(new MailSendException("Servidor SMTP no disponible (circuito abierto)"));
+        } else if (!queue.offer(new PendingMail(message, future))) {
+            future.completeExceptionally(new MailSendException("Cola de correos llena"));
+        }
+        return future;
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    /**
+     * Deja de aceptar mensajes y espera hasta timeoutMillis a que se envíen los que están en cola.
+     */
+    public void shutdown(long timeoutMillis) {
+        running = false;
+        workers.forEach(Thread::interrupt);
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    public void shutdown() {
+        shutdown(10_000);
+    }
+
+    private void work() {
+        Transport transport = null;
+        List<PendingMail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            PendingMail first;
+            try {
+                first = running ? queue.poll(idleMillis, TimeUnit.MILLISECONDS) : queue.poll();
+            } catch (InterruptedException e) {
+                // shutdown: se siguen enviando los mensajes en cola
+                continue;
+            }
+            if (first == null) {
+                transport = close(transport);
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            transport = sendBatch(transport, batch);
+            batch.clear();
+        }
+        close(transport);
+    }
+
+    private Transport sendBatch(Transport transport, List<PendingMail> batch) {
+        // isConnected envía un NOOP: se comprueba una vez por lote, no por mensaje
+        if (transport != null && !transport.isConnected()) {
+            transport = close(transport);
+        }
+        for (PendingMail mail : batch) {
+            if (circuitBreaker.isOpen()) {
+                mail.future().completeExceptionally(new MailSendException("Servidor SMTP no disponible (circuito abierto)"));
+                continue;
+            }
+            boolean reused = transport != null;
+            try {
+                if (transport == null) {
+                    transport = connect();
+                }
+                deliver(transport, mail.message());
+                mail.future().complete(null);
+                circuitBreaker.recordSuccess();
+            } catch (SendFailedException e) {
+                // Destinatario rechazado: la conexión sigue sirviendo
+                logger.warn("sendBatch - Destinatario rechazado: " + e.getMessage());
+                mail.future().completeExceptionally(e);
+            } catch (MessagingException e) {
+                transport = close(transport);
+                if (reused) {
+                    // La conexión reutilizada pudo haberla cerrado el servidor: un reintento con una nueva
+                    try {
+                        transport = connect();
+                        deliver(transport, mail.message());
+                        mail.future().complete(null);
+                        circuitBreaker.recordSuccess();
+                        continue;
+                    } catch (MessagingException retryException) {
+                        transport = close(transport);
+                        e = retryException;
+                    }
+                }
+                circuitBreaker.recordFailure();
+                logger.error("sendBatch - No se pudo enviar el correo: " + e.getMessage());
+                mail.future().completeExceptionally(e);
+            }
+        }
+        return transport;
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = session.getTransport("smtp");
+        try {
+            transport.connect(host, port, username, password);
+        } catch (MessagingException e) {
+            close(transport);
+            throw e;
+        }
+        return transport;
+    }
+
+    private void deliver(Transport transport, MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+        transport.sendMessage(message, message.getAllRecipients());
+    }
+
+    private Transport close(Transport transport) {
+        if (transport != null) {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                logger.debug("close - Error al cerrar la conexión SMTP: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private record PendingMail(MimeMessage message, CompletableFuture<Void> future) {
+    }
+}
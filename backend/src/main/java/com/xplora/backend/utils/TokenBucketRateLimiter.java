@@ -0,0 +1,100 @@
+package com.xplora.backend.utils;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Token buckets por clave, repartidos en franjas con su propio lock para que claves distintas
+ * no compitan entre sí. Cada franja tiene un máximo de claves (LRU) y descarta las inactivas.
+ */
+public class TokenBucketRateLimiter {
+    private final Stripe[] stripes;
+    private final long idleNanos;
+
+    public TokenBucketRateLimiter(int stripeCount, int maxKeysPerStripe, long idleMillis) {
+        // Potencia de dos mayor o igual a stripeCount
+        int count = stripeCount <= 1 ? 1 : Integer.highestOneBit((stripeCount - 1) << 1);
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe(maxKeysPerStripe);
+        }
+        this.idleNanos = idleMillis * 1_000_000;
+    }
+
+    /**
+     * Intenta consumir un token del bucket de la clave.
+     *
+     * @return 0 si se permitió la solicitud, o los nanosegundos a esperar hasta el próximo token
+     */
+    public long tryAcquire(String key, long capacity, long refillPeriodNanos) {
+        long now = System.nanoTime();
+        int hash = key.hashCode();
+        Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+        synchronized (stripe) {
+            stripe.evictIdle(now, idleNanos);
+            Bucket bucket = stripe.buckets.get(key);
+            if (bucket == null) {
+                bucket = new Bucket(capacity, now);
+                stripe.buckets.put(key, bucket);
+            }
+            return bucket.tryConsume(capacity, refillPeriodNanos, now);
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private static class Stripe {
+        private final LinkedHashMap<String, Bucket> buckets;
+
+        Stripe(int maxKeys) {
+            this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                    return size() > maxKeys;
+                }
+            };
+        }
+
+        // En orden de acceso, las inactivas están al principio: se corta en la primera activa
+        void evictIdle(long now, long idleNanos) {
+            Iterator<Bucket> iterator = buckets.values().iterator();
+            while (iterator.hasNext() && now - iterator.next().lastAccess > idleNanos) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class Bucket {
+        private double tokens;
+        private long lastRefill;
+        private long lastAccess;
+
+        Bucket(long capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefill = now;
+            this.lastAccess = now;
+        }
+
+        long tryConsume(long capacity, long refillPeriodNanos, long now) {
+            // Se recargan capacity tokens cada refillPeriod, de forma continua
+            double tokensPerNano = (double) capacity / refillPeriodNanos;
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+            lastAccess = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+}
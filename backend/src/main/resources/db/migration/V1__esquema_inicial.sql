@@ -0,0 +1,122 @@
+-- Esquema tal como lo generaba Hibernate con ddl-auto=update (MySQL 8) antes de adoptar Flyway.
+-- Las bases existentes no ejecutan este script: Flyway las registra en la versión 1 (baseline-on-migrate)
+-- y aplican desde V2, así que aquí no puede ir nada que esas bases no tuvieran ya.
+
+CREATE TABLE users (
+    id bigint NOT NULL AUTO_INCREMENT,
+    firstname varchar(100) NOT NULL,
+    lastname varchar(100) NOT NULL,
+    email varchar(255) NOT NULL,
+    password varchar(255) NOT NULL,
+    role enum ('ADMIN','SUPERADMIN','USER'),
+    created_at datetime(6),
+    updated_at datetime(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE cities (
+    id integer NOT NULL AUTO_INCREMENT,
+    name varchar(100) NOT NULL,
+    country varchar(100) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE categories (
+    id bigint NOT NULL AUTO_INCREMENT,
+    title varchar(255) NOT NULL,
+    description varchar(500) NOT NULL,
+    image_url varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE features (
+    id bigint NOT NULL AUTO_INCREMENT,
+    name varchar(255) NOT NULL,
+    icon_url varchar(255) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE products (
+    id bigint NOT NULL AUTO_INCREMENT,
+    name varchar(255) NOT NULL,
+    description varchar(1000),
+    price float(53) NOT NULL,
+    capacity integer NOT NULL,
+    address varchar(255) NOT NULL,
+    average_score float(53) NOT NULL,
+    count_scores integer NOT NULL,
+    city_id integer NOT NULL,
+    category_id bigint,
+    created_at datetime(6),
+    updated_at datetime(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE products_features (
+    products_id bigint NOT NULL,
+    features_id bigint NOT NULL
+) ENGINE=InnoDB;
+
+CREATE TABLE images (
+    idimage bigint NOT NULL AUTO_INCREMENT,
+    url_image varchar(500) NOT NULL,
+    display_order integer,
+    product_idproduct bigint NOT NULL,
+    PRIMARY KEY (idimage)
+) ENGINE=InnoDB;
+
+CREATE TABLE availabilities (
+    id bigint NOT NULL AUTO_INCREMENT,
+    date date NOT NULL,
+    remaining_capacity integer NOT NULL,
+    product_id bigint NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE bookings (
+    id bigint NOT NULL AUTO_INCREMENT,
+    date date,
+    quantity integer NOT NULL,
+    status enum ('CANCELLED','CONFIRMED','PENDING'),
+    user_id bigint NOT NULL,
+    product_id bigint NOT NULL,
+    created_at datetime(6),
+    updated_at datetime(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE reviews (
+    id bigint NOT NULL AUTO_INCREMENT,
+    score integer NOT NULL,
+    comment varchar(1000),
+    booking_id bigint NOT NULL,
+    product_id bigint NOT NULL,
+    created_at datetime(6),
+    updated_at datetime(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE favorites (
+    id bigint NOT NULL AUTO_INCREMENT,
+    user_id bigint NOT NULL,
+    product_id bigint NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE users ADD CONSTRAINT UK6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+ALTER TABLE features ADD CONSTRAINT UKb6qhwd2ah4bi6b4dlaflberpm UNIQUE (name);
+ALTER TABLE products ADD CONSTRAINT UKo61fmio5yukmmiqgnxf8pnavn UNIQUE (name);
+ALTER TABLE reviews ADD CONSTRAINT UK3p9j9vyr1qofbcxju65es206r UNIQUE (booking_id);
+
+ALTER TABLE products ADD CONSTRAINT FK1jpjau7sg3bb841s8e7e8o8ei FOREIGN KEY (city_id) REFERENCES cities (id);
+ALTER TABLE products ADD CONSTRAINT FKog2rp4qthbtt2lfyhfo32lsw9 FOREIGN KEY (category_id) REFERENCES categories (id);
+ALTER TABLE products_features ADD CONSTRAINT FKopc3v55m3im2v3ph3p3sdc97s FOREIGN KEY (products_id) REFERENCES products (id);
+ALTER TABLE products_features ADD CONSTRAINT FK3w0f4aw0xm6l3daf5djdrkmam FOREIGN KEY (features_id) REFERENCES features (id);
+ALTER TABLE images ADD CONSTRAINT FK5mdtwtaut7gfagxc25hjpiwn FOREIGN KEY (product_idproduct) REFERENCES products (id);
+ALTER TABLE availabilities ADD CONSTRAINT FKleh62qmwxplqjsnhr6oqp0eee FOREIGN KEY (product_id) REFERENCES products (id);
+ALTER TABLE bookings ADD CONSTRAINT FKeyog2oic85xg7hsu2je2lx3s6 FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE bookings ADD CONSTRAINT FKlmdmerb98p3rhxcmvc9iunj2d FOREIGN KEY (product_id) REFERENCES products (id);
+ALTER TABLE reviews ADD CONSTRAINT FK28an517hrxtt2bsg93uefugrm FOREIGN KEY (booking_id) REFERENCES bookings (id);
+ALTER TABLE reviews ADD CONSTRAINT FKpl51cejpw4gy5swfar8br9ngi FOREIGN KEY (product_id) REFERENCES products (id);
+ALTER TABLE favorites ADD CONSTRAINT FKk7du8b8ewipawnnpg76d55fus FOREIGN KEY (user_id) REFERENCES users (id);
+ALTER TABLE favorites ADD CONSTRAINT FK6sgu5npe8ug4o42bf9j71x20c FOREIGN KEY (product_id) REFERENCES products (id);
@@ -0,0 +1,11 @@
+-- Un producto aparece una sola vez en los favoritos de un usuario (toggle y alta sin consulta previa).
+-- Antes de la restricción se eliminan los duplicados existentes, conservando el favorito más antiguo.
+-- La tabla derivada con GROUP BY se materializa, por eso MySQL permite leer la misma tabla que se borra.
+DELETE FROM favorites
+WHERE id NOT IN (
+    SELECT keep.id FROM (
+        SELECT MIN(id) AS id FROM favorites GROUP BY user_id, product_id
+    ) AS keep
+);
+
+ALTER TABLE favorites ADD CONSTRAINT uk_favorites_user_product UNIQUE (user_id, product_id);
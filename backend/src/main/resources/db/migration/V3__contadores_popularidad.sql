@@ -0,0 +1,10 @@
+-- Contadores de popularidad por producto; PopularityServiceImpl los incrementa con upserts por lotes.
+CREATE TABLE product_counters (
+    product_id bigint NOT NULL,
+    views bigint NOT NULL,
+    favorites_added bigint NOT NULL,
+    favorites_removed bigint NOT NULL,
+    bookings bigint NOT NULL,
+    updated_at datetime(6),
+    PRIMARY KEY (product_id)
+) ENGINE=InnoDB;
@@ -0,0 +1,22 @@
+-- Refresh tokens rotativos (solo el SHA-256 del token) y access tokens revocados por jti.
+CREATE TABLE refresh_tokens (
+    id bigint NOT NULL AUTO_INCREMENT,
+    token_hash varchar(64) NOT NULL,
+    user_id bigint NOT NULL,
+    expires_at datetime(6) NOT NULL,
+    revoked_at datetime(6),
+    created_at datetime(6),
+    updated_at datetime(6),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE revoked_tokens (
+    jti varchar(36) NOT NULL,
+    revoked_at datetime(6) NOT NULL,
+    expires_at datetime(6) NOT NULL,
+    PRIMARY KEY (jti)
+) ENGINE=InnoDB;
+
+ALTER TABLE refresh_tokens ADD CONSTRAINT UKo2mlirhldriil2y7krapq4frt UNIQUE (token_hash);
+ALTER TABLE refresh_tokens ADD CONSTRAINT FK1lih5y2npsf8u5o3vhdb9y0os FOREIGN KEY (user_id) REFERENCES users (id);
+CREATE INDEX idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
@@ -0,0 +1,2 @@
+-- SHA-256 del archivo de las imágenes subidas al almacenamiento local (null para urls externas).
+ALTER TABLE images ADD COLUMN content_hash varchar(64);
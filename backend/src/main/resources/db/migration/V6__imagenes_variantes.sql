@@ -0,0 +1,2 @@
+-- Tamaños de las miniaturas ya generadas de una imagen local, "ancho x alto" separados por punto y coma (p. ej. "320x213;640x427").
+ALTER TABLE images ADD COLUMN variant_sizes varchar(100);
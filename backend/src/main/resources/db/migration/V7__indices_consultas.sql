@@ -0,0 +1,28 @@
+-- Índices para los finders de los repositorios (verificados con EXPLAIN en RepositoryIndexUsageTest).
+-- favorites(user_id, product_id) ya es único desde V2 (uk_favorites_user_product) y cubre las búsquedas por usuario.
+-- En MySQL el índice creado automáticamente para una llave foránea se descarta cuando uno de estos lo reemplaza.
+
+-- Calendario de un producto y descuento de cupos por fecha
+CREATE INDEX idx_availabilities_product_date ON availabilities (product_id, date);
+
+-- Reservas de un usuario ordenables por fecha, y reservas de un producto
+CREATE INDEX idx_bookings_user_date ON bookings (user_id, date);
+CREATE INDEX idx_bookings_product ON bookings (product_id);
+
+-- Reseñas de un producto ordenables por fecha
+CREATE INDEX idx_reviews_product_created ON reviews (product_id, created_at);
+
+-- Productos por categoría y por ciudad
+CREATE INDEX idx_products_category ON products (category_id);
+CREATE INDEX idx_products_city ON products (city_id);
+
+-- Galería de un producto en orden y siguiente display_order
+CREATE INDEX idx_images_product_order ON images (product_idproduct, display_order);
+
+-- Búsquedas por nombre de las tablas de referencia
+CREATE INDEX idx_categories_title ON categories (title);
+CREATE INDEX idx_cities_name ON cities (name);
+
+-- Limpieza de tokens vencidos y carga de revocaciones vigentes
+CREATE INDEX idx_refresh_tokens_expires_at ON refresh_tokens (expires_at);
+CREATE INDEX idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
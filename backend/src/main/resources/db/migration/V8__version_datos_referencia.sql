@@ -0,0 +1,9 @@
+-- Versión de categorías, ciudades y características. ReferenceDataService la incrementa con cada cambio de un
+-- administrador y cada instancia la consulta periódicamente para reconstruir su foto cuando otra la modificó.
+CREATE TABLE reference_data_version (
+    id tinyint NOT NULL,
+    version bigint NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+INSERT INTO reference_data_version (id, version) VALUES (1, 1);
@@ -0,0 +1,149 @@
+package com.xplora.backend.authentication;
+
+import com.xplora.backend.entity.RefreshToken;
+import com.xplora.backend.entity.Role;
+import com.xplora.backend.entity.User;
+import com.xplora.backend.repository.IRefreshTokenRepository;
+import com.xplora.backend.repository.IRevokedTokenRepository;
+import com.xplora.backend.repository.IUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Rotación de refresh tokens, detección de reutilización y revocación de access tokens contra la base real.
+ * Sin transacción de test: consume confirma la revocación de todas las sesiones aunque termine con excepción.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:tokens;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RefreshTokenService.class, TokenRevocationService.class})
+class TokenLifecycleTest {
+
+    @Autowired private RefreshTokenService refreshTokenService;
+    @Autowired private TokenRevocationService tokenRevocationService;
+    @Autowired private IRefreshTokenRepository refreshTokenRepository;
+    @Autowired private IRevokedTokenRepository revokedTokenRepository;
+    @Autowired private IUserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder()
+                .firstname("Ana")
+                .lastname("Pérez")
+                .email("ana" + System.nanoTime() + "@example.com")
+                .password("hash")
+                .role(Role.USER)
+                .build());
+    }
+
+    @Test
+    void refreshTokenIsSingleUse() {
+        String token = refreshTokenService.issue(user);
+
+        assertEquals(user.getId(), refreshTokenService.consume(token).getId());
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(token));
+    }
+
+    @Test
+    void reusingARotatedTokenRevokesEverySessionOfTheUser() {
+        String first = refreshTokenService.issue(user);
+        refreshTokenService.consume(first);
+        String rotated = refreshTokenService.issue(user);
+        String otherDevice = refreshTokenService.issue(user);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(first));
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(rotated));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(otherDevice));
+        List<RefreshToken> tokens = refreshTokenRepository.findAll().stream()
+                .filter(refreshToken -> refreshToken.getUser().getId().equals(user.getId()))
+                .toList();
+        assertEquals(3, tokens.size());
+        assertTrue(tokens.stream().allMatch(refreshToken -> refreshToken.getRevokedAt() != null));
+    }
+
+    @Test
+    void reuseDetectionDoesNotTouchOtherUsers() {
+        User other = userRepository.save(User.builder()
+                .firstname("Luis")
+                .lastname("Gómez")
+                .email("luis" + System.nanoTime() + "@example.com")
+                .password("hash")
+                .role(Role.USER)
+                .build());
+        String otherToken = refreshTokenService.issue(other);
+        String token = refreshTokenService.issue(user);
+        refreshTokenService.consume(token);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(token));
+
+        assertEquals(other.getId(), refreshTokenService.consume(otherToken).getId());
+    }
+
+    @Test
+    void unknownAndLoggedOutRefreshTokensAreRejected() {
+        String token = refreshTokenService.issue(user);
+        refreshTokenService.revoke(token);
+
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume(token));
+        assertThrows(BadCredentialsException.class, () -> refreshTokenService.consume("desconocido"));
+    }
+
+    @Test
+    void revokedAccessTokenIsRejected() {
+        String jti = UUID.randomUUID().toString();
+        String other = UUID.randomUUID().toString();
+
+        tokenRevocationService.revoke(jti, LocalDateTime.now().plusMinutes(15));
+
+        assertTrue(tokenRevocationService.isRevoked(jti));
+        assertFalse(tokenRevocationService.isRevoked(other));
+        assertFalse(tokenRevocationService.isRevoked(null));
+    }
+
+    @Test
+    void revocationIsSeenByAnotherInstanceAfterSync() {
+        TokenRevocationService otherInstance = new TokenRevocationService(revokedTokenRepository, 1000, 10000);
+        otherInstance.init();
+        String jti = UUID.randomUUID().toString();
+
+        tokenRevocationService.revoke(jti, LocalDateTime.now().plusMinutes(15));
+        otherInstance.sync();
+
+        assertTrue(otherInstance.isRevoked(jti));
+    }
+
+    @Test
+    void expiredTokensAreNotStoredAndAreDroppedOnRebuild() {
+        String alreadyExpired = UUID.randomUUID().toString();
+        tokenRevocationService.revoke(alreadyExpired, LocalDateTime.now().minusMinutes(1));
+        assertFalse(revokedTokenRepository.existsById(alreadyExpired));
+
+        String active = UUID.randomUUID().toString();
+        tokenRevocationService.revoke(active, LocalDateTime.now().plusMinutes(15));
+        tokenRevocationService.rebuild();
+
+        assertTrue(tokenRevocationService.isRevoked(active));
+    }
+}
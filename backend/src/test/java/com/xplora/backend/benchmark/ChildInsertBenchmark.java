@@ -0,0 +1,150 @@
+package com.xplora.backend.benchmark;
+
+import org.h2.tools.Server;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara insertar las imágenes y disponibilidades de un producto fila por fila (lo que hace
+ * Hibernate con ids IDENTITY) contra un lote por tabla (ProductChildrenWriter). La base H2 corre
+ * como servidor TCP local para que cada sentencia sea un viaje de red real; se mide con el modo
+ * por defecto y con MODE=MySQL. Contra MySQL con rewriteBatchedStatements el lote además viaja
+ * como un solo INSERT multi-fila.
+ * Ejecutar: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *           -Dexec.args="-cp %classpath com.xplora.backend.benchmark.ChildInsertBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChildInsertBenchmark {
+    private static final String INSERT_IMAGE =
+            "INSERT INTO images (url_image, display_order, product_idproduct) VALUES (?, ?, ?)";
+    private static final String INSERT_AVAILABILITY =
+            "INSERT INTO availabilities (date, remaining_capacity, product_id) VALUES (?, ?, ?)";
+
+    @Param({"REGULAR", "MySQL"})
+    private String mode;
+
+    // Un producto típico: 5 imágenes y 30 fechas disponibles
+    @Param({"5"})
+    private int images;
+
+    @Param({"30"})
+    private int availabilities;
+
+    private Server server;
+    private Connection connection;
+    private long productId;
+
+    @Setup
+    public void setup() throws SQLException {
+        server = Server.createTcpServer("-tcpPort", "0", "-ifNotExists").start();
+        connection = DriverManager.getConnection(
+                "jdbc:h2:tcp://localhost:" + server.getPort() + "/mem:bench;MODE=" + mode, "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE images (idimage BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "url_image VARCHAR(500) NOT NULL, display_order INT, product_idproduct BIGINT NOT NULL)");
+            statement.execute("CREATE TABLE availabilities (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                    "date DATE NOT NULL, remaining_capacity INT NOT NULL, product_id BIGINT NOT NULL)");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+        server.stop();
+    }
+
+    @Benchmark
+    public long rowByRow() throws SQLException {
+        long id = ++productId;
+        long generated = 0;
+        try (PreparedStatement image = connection.prepareStatement(INSERT_IMAGE, Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement availability = connection.prepareStatement(INSERT_AVAILABILITY, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < images; i++) {
+                bindImage(image, id, i);
+                image.executeUpdate();
+                generated += countKeys(image);
+            }
+            for (int i = 0; i < availabilities; i++) {
+                bindAvailability(availability, id, i);
+                availability.executeUpdate();
+                generated += countKeys(availability);
+            }
+        }
+        return generated;
+    }
+
+    @Benchmark
+    public long batched() throws SQLException {
+        long id = ++productId;
+        long generated = 0;
+        try (PreparedStatement image = connection.prepareStatement(INSERT_IMAGE, Statement.RETURN_GENERATED_KEYS);
+             PreparedStatement availability = connection.prepareStatement(INSERT_AVAILABILITY, Statement.RETURN_GENERATED_KEYS)) {
+            for (int i = 0; i < images; i++) {
+                bindImage(image, id, i);
+                image.addBatch();
+            }
+            image.executeBatch();
+            generated += countKeys(image);
+            for (int i = 0; i < availabilities; i++) {
+                bindAvailability(availability, id, i);
+                availability.addBatch();
+            }
+            availability.executeBatch();
+            generated += countKeys(availability);
+        }
+        return generated;
+    }
+
+    private static void bindImage(PreparedStatement ps, long productId, int order) throws SQLException {
+        ps.setString(1, "https://example.com/" + productId + "-" + order + ".jpg");
+        ps.setInt(2, order);
+        ps.setLong(3, productId);
+    }
+
+    private static void bindAvailability(PreparedStatement ps, long productId, int day) throws SQLException {
+        ps.setDate(1, Date.valueOf(LocalDate.of(2027, 1, 1).plusDays(day)));
+        ps.setInt(2, 20);
+        ps.setLong(3, productId);
+    }
+
+    private static int countKeys(PreparedStatement ps) throws SQLException {
+        int count = 0;
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            while (keys.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(ChildInsertBenchmark.class.getSimpleName())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        System.out.println();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark().replaceAll(".*\\.", "");
+            int rows = Integer.parseInt(result.getParams().getParam("images"))
+                    + Integer.parseInt(result.getParams().getParam("availabilities"));
+            System.out.printf("%-8s %-9s %8.0f us/producto  %s%n",
+                    result.getParams().getParam("mode"), benchmark,
+                    result.getPrimaryResult().getScore(),
+                    "batched".equals(benchmark) ? "2 lotes (uno por tabla)" : rows + " sentencias");
+        }
+    }
+}
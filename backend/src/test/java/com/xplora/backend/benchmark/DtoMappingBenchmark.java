@@ -0,0 +1,136 @@
+package com.xplora.backend.benchmark;
+
+import com.xplora.backend.dto.mapper.BookingMapper;
+import com.xplora.backend.dto.mapper.ProductMapper;
+import com.xplora.backend.dto.response.*;
+import com.xplora.backend.entity.*;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara el costo por objeto (tiempo y bytes asignados) de convertir un producto y una reservación
+ * con ModelMapper, como se hacía antes, y con los mappers explícitos de dto.mapper.
+ * Ejecutar: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *           -Dexec.args="-cp %classpath com.xplora.backend.benchmark.DtoMappingBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    private ModelMapper modelMapper;
+    private Product product;
+    private Booking booking;
+
+    @Setup
+    public void setup() {
+        modelMapper = new ModelMapper();
+
+        City city = new City(1, "París", "Francia", null);
+        Category category = new Category(1L, "Tour", "Recorridos guiados", "https://example.com/tour.png", null);
+        List<Feature> features = new ArrayList<>();
+        for (long i = 1; i <= 4; i++) {
+            features.add(new Feature(i, "Característica " + i, "https://example.com/icon-" + i + ".svg", null));
+        }
+
+        product = new Product();
+        product.setId(1L);
+        product.setName("Paseo en barco por el Sena");
+        product.setDescription("Recorrido de una hora por el río");
+        product.setPrice(180.0);
+        product.setCapacity(20);
+        product.setAddress("Port de la Bourdonnais");
+        product.setCreatedAt(LocalDateTime.now());
+        product.setUpdatedAt(LocalDateTime.now());
+        product.setCity(city);
+        product.setCategory(category);
+        product.setFeatures(features);
+        Set<Image> images = new HashSet<>();
+        for (long i = 1; i <= 5; i++) {
+            images.add(new Image(i, "https://example.com/" + i + ".jpg", (int) i, product));
+        }
+        product.setImageSet(images);
+        Set<Availability> availabilities = new HashSet<>();
+        for (long i = 1; i <= 30; i++) {
+            availabilities.add(new Availability(i, LocalDate.now().plusDays(i), 20, product));
+        }
+        product.setAvailabilitySet(availabilities);
+
+        User user = User.builder()
+                .id(1L)
+                .firstname("user")
+                .lastname("user")
+                .email("user@user.com")
+                .password("hash")
+                .role(Role.USER)
+                .build();
+        booking = new Booking(1L, Status.PENDING, LocalDate.now().plusDays(3), 2, user, product, null);
+        booking.setCreatedAt(LocalDateTime.now());
+    }
+
+    // Lo que hacía ProductServiceImpl.productToResponse con ModelMapper
+    @Benchmark
+    public ProductResponseDto productModelMapper() {
+        ProductResponseDto productResponseDto = modelMapper.map(product, ProductResponseDto.class);
+        productResponseDto.setCity(modelMapper.map(product.getCity(), CityResponseDto.class));
+        Set<AvailabilityResponseDto> availabilities = new HashSet<>();
+        for (Availability availability : product.getAvailabilitySet()) {
+            availabilities.add(modelMapper.map(availability, AvailabilityResponseDto.class));
+        }
+        productResponseDto.setAvailabilitySet(availabilities);
+        return productResponseDto;
+    }
+
+    @Benchmark
+    public ProductResponseDto productExplicit() {
+        return ProductMapper.toResponse(product);
+    }
+
+    // Lo que hacía BookingServiceImpl.bookingToResponse con ModelMapper
+    @Benchmark
+    public BookingResponseDto bookingModelMapper() {
+        ProductResponseDto productResponseDto = modelMapper.map(booking.getProduct(), ProductResponseDto.class);
+        productResponseDto.setCity(modelMapper.map(booking.getProduct().getCity(), CityResponseDto.class));
+        BookingResponseDto bookingResponseDto = modelMapper.map(booking, BookingResponseDto.class);
+        bookingResponseDto.setProduct(productResponseDto);
+        bookingResponseDto.setAvailability(new AvailabilityResponseDto(null, booking.getDate(), null));
+        bookingResponseDto.setUser(modelMapper.map(booking.getUser(), UserResponseDto.class));
+        return bookingResponseDto;
+    }
+
+    @Benchmark
+    public BookingResponseDto bookingExplicit() {
+        return BookingMapper.toResponse(booking);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(DtoMappingBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        System.out.println();
+        for (RunResult result : results) {
+            Result<?> allocated = result.getSecondaryResults().get("gc.alloc.rate.norm");
+            System.out.printf("%-20s %10.0f ns/objeto  %10.0f bytes/objeto%n",
+                    result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                    result.getPrimaryResult().getScore(),
+                    allocated != null ? allocated.getScore() : Double.NaN);
+        }
+    }
+}
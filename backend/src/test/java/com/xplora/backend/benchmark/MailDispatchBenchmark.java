@@ -0,0 +1,96 @@
+package com.xplora.backend.benchmark;
+
+import com.xplora.backend.support.LocalSmtpServer;
+import com.xplora.backend.utils.CircuitBreaker;
+import com.xplora.backend.utils.MailDispatcher;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mensajes por segundo contra LocalSmtpServer: una conexión por mensaje (JavaMailSender.send)
+ * frente a MailDispatcher con conexiones abiertas y envío por lotes.
+ * Ejecutar: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *           -Dexec.args="-cp %classpath com.xplora.backend.benchmark.MailDispatchBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class MailDispatchBenchmark {
+    private static final int MESSAGES = 100;
+
+    private LocalSmtpServer server;
+    private JavaMailSenderImpl mailSender;
+    private MailDispatcher dispatcher;
+
+    @Setup
+    public void setup() throws IOException {
+        server = new LocalSmtpServer();
+        server.setKeepMessages(false);
+        Properties properties = new Properties();
+        properties.put("mail.smtp.auth", "true");
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(server.getPort());
+        mailSender.setUsername("user");
+        mailSender.setPassword("secret");
+        mailSender.setJavaMailProperties(properties);
+        dispatcher = new MailDispatcher(mailSender.getSession(), "localhost", server.getPort(), "user", "secret",
+                2, 10_000, 20, 30_000, new CircuitBreaker(5, 30_000));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        dispatcher.shutdown();
+        server.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void connectionPerMessage() throws MessagingException {
+        for (int i = 0; i < MESSAGES; i++) {
+            mailSender.send(message(i));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(MESSAGES)
+    public void pooledDispatcher() throws Exception {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[MESSAGES];
+        for (int i = 0; i < MESSAGES; i++) {
+            futures[i] = dispatcher.submit(message(i));
+        }
+        CompletableFuture.allOf(futures).get();
+    }
+
+    private MimeMessage message(int i) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        message.setFrom(new InternetAddress("noreply@xplora.com"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress("user" + i + "@example.com"));
+        message.setSubject("Xplora+ ¡Reserva confirmada!", "UTF-8");
+        message.setText("Reserva " + i, "UTF-8");
+        return message;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(MailDispatchBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
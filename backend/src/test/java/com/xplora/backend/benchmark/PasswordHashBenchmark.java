@@ -0,0 +1,67 @@
+package com.xplora.backend.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cuántos hashes BCrypt por segundo y por núcleo soporta la máquina para cada costo,
+ * como referencia para dimensionar security.bcrypt.threads y security.bcrypt.queue-capacity.
+ * Ejecutar: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *           -Dexec.args="-cp %classpath com.xplora.backend.benchmark.PasswordHashBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashBenchmark {
+
+    @Param({"10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String encoded;
+
+    @Setup
+    public void setup() {
+        encoder = new BCryptPasswordEncoder(strength);
+        encoded = encoder.encode("User12345678");
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode("User12345678");
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches("User12345678", encoded);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        int cores = Runtime.getRuntime().availableProcessors();
+        Options options = new OptionsBuilder()
+                .include(PasswordHashBenchmark.class.getSimpleName())
+                .threads(cores)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        System.out.println();
+        System.out.printf("Procesadores: %d%n", cores);
+        for (RunResult result : results) {
+            double total = result.getPrimaryResult().getScore();
+            System.out.printf("%-10s costo=%s  %.1f hashes/s totales  %.1f hashes/s por procesador%n",
+                    result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                    result.getParams().getParam("strength"),
+                    total, total / cores);
+        }
+    }
+}
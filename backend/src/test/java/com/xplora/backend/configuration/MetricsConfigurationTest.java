@@ -0,0 +1,59 @@
+package com.xplora.backend.configuration;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class MetricsConfigurationTest {
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MetricsConfiguration().sloBucketsMeterFilter(
+                new Duration[]{Duration.ofMillis(500), Duration.ofSeconds(2)},
+                new Duration[]{Duration.ofMillis(50), Duration.ofMillis(200)},
+                new Duration[]{Duration.ofSeconds(1)}));
+    }
+
+    @Test
+    void bookingRoutesAndServiceUseBookingBuckets() {
+        assertArrayEquals(new double[]{0.5, 2}, buckets(httpTimer("POST", "/api/v1/bookings")));
+        assertArrayEquals(new double[]{0.5, 2}, buckets(serviceTimer("BookingServiceImpl", "saveBooking")));
+    }
+
+    @Test
+    void searchRoutesAndServiceUseSearchBuckets() {
+        assertArrayEquals(new double[]{0.05, 0.2}, buckets(httpTimer("GET", "/api/v1/products/cards")));
+        assertArrayEquals(new double[]{0.05, 0.2}, buckets(serviceTimer("ProductServiceImpl", "getProductCards")));
+    }
+
+    @Test
+    void otherTimersUseDefaultBuckets() {
+        assertArrayEquals(new double[]{1}, buckets(httpTimer("GET", "/api/v1/bookings/export")));
+        assertArrayEquals(new double[]{1}, buckets(httpTimer("POST", "/api/v1/products/cards")));
+        assertArrayEquals(new double[]{1}, buckets(serviceTimer("CityServiceImpl", "getAllCities")));
+        assertArrayEquals(new double[0], buckets(Timer.builder("jvm.gc.pause").register(registry)));
+    }
+
+    private Timer httpTimer(String method, String uri) {
+        return Timer.builder("http.server.requests").tag("method", method).tag("uri", uri).register(registry);
+    }
+
+    private Timer serviceTimer(String service, String method) {
+        return Timer.builder(ServiceMetricsAspect.METRIC_NAME).tag("service", service).tag("method", method).register(registry);
+    }
+
+    private static double[] buckets(Timer timer) {
+        return Arrays.stream(timer.takeSnapshot().histogramCounts())
+                .mapToDouble(bucket -> bucket.bucket(TimeUnit.SECONDS))
+                .toArray();
+    }
+}
@@ -0,0 +1,124 @@
+package com.xplora.backend.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplora.backend.utils.TokenBucketRateLimiter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+    private static final String LOGIN = "/api/v1/auth/login";
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new RateLimitFilter(new TokenBucketRateLimiter(4, 100, 60000), new ObjectMapper().findAndRegisterModules(), List.of(
+                RateLimitPolicy.perIp(HttpMethod.POST, LOGIN, 3, Duration.ofMinutes(1)),
+                RateLimitPolicy.perEmail(HttpMethod.POST, LOGIN, 2, Duration.ofMinutes(1))
+        ));
+    }
+
+    @Test
+    void limitsLoginsPerEmailAcrossIps() throws Exception {
+        assertEquals(200, login("10.0.0.1", "ana@example.com", false).getStatus());
+        assertEquals(200, login("10.0.0.2", "ANA@example.com", false).getStatus());
+
+        MockHttpServletResponse rejected = login("10.0.0.3", "ana@example.com", false);
+
+        assertEquals(429, rejected.getStatus());
+        assertNotNull(rejected.getHeader("Retry-After"));
+        assertEquals(200, login("10.0.0.3", "luis@example.com", false).getStatus());
+    }
+
+    @Test
+    void chunkedBodiesAreStillLimitedPerEmail() throws Exception {
+        assertEquals(200, login("10.0.0.1", "ana@example.com", true).getStatus());
+        assertEquals(200, login("10.0.0.2", "ana@example.com", true).getStatus());
+
+        assertEquals(429, login("10.0.0.3", "ana@example.com", true).getStatus());
+    }
+
+    @Test
+    void limitsLoginsPerIp() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, login("10.0.0.9", "user" + i + "@example.com", false).getStatus());
+        }
+
+        assertEquals(429, login("10.0.0.9", "otro@example.com", false).getStatus());
+    }
+
+    @Test
+    void controllerReceivesTheBodyReadByTheFilter() throws Exception {
+        MockHttpServletRequest request = loginRequest("10.0.0.1", "ana@example.com");
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(chunked(request), new MockHttpServletResponse(), chain);
+
+        String body = new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("ana@example.com"));
+    }
+
+    @Test
+    void rejectsBodiesLargerThanTheLimitWhateverTheContentLength() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", LOGIN);
+        request.setRemoteAddr("10.0.0.1");
+        request.setContent(("{\"email\":\"ana@example.com\",\"password\":\"" + "x".repeat(20000) + "\"}").getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(chunked(request), response, new MockFilterChain());
+
+        assertEquals(413, response.getStatus());
+    }
+
+    @Test
+    void otherRoutesAreNotLimited() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/products");
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertEquals(200, response.getStatus());
+        }
+    }
+
+    private MockHttpServletResponse login(String ip, String email, boolean chunked) throws Exception {
+        MockHttpServletRequest request = loginRequest(ip, email);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(chunked ? chunked(request) : request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest loginRequest(String ip, String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", LOGIN);
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"email\":\"" + email + "\",\"password\":\"secreto\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    // Transfer-Encoding: chunked, sin Content-Length
+    private static HttpServletRequest chunked(HttpServletRequest request) {
+        return new HttpServletRequestWrapper(request) {
+            @Override
+            public int getContentLength() {
+                return -1;
+            }
+
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+    }
+}
@@ -0,0 +1,109 @@
+package com.xplora.backend.configuration;
+
+import com.xplora.backend.utils.CircuitBreaker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaDataSourceTest {
+    private DataSource primary;
+    private DataSource replica;
+    private ReadYourWritesTracker readYourWrites;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        readYourWrites = new ReadYourWritesTracker(60_000, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primary).execute("DROP TABLE db_role");
+        new JdbcTemplate(replica).execute("DROP TABLE db_role");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        DataSource dataSource = routing(replica, new CircuitBreaker(3, 60_000));
+
+        assertEquals("replica", role(dataSource, true));
+        assertEquals("primary", role(dataSource, false));
+        assertEquals("primary", new JdbcTemplate(dataSource).queryForObject("SELECT name FROM db_role", String.class));
+    }
+
+    @Test
+    void repositoryReadOnlyTransactionsStayOnPrimary() {
+        DataSource dataSource = routing(replica, new CircuitBreaker(3, 60_000));
+
+        assertEquals("primary", role(dataSource, true,
+                "org.springframework.data.jpa.repository.support.SimpleJpaRepository.findById"));
+    }
+
+    @Test
+    void fallsBackToPrimaryWhileReplicaIsDown() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(1, 60_000);
+        DataSource dataSource = routing(new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/replica"), circuitBreaker);
+
+        assertEquals("primary", role(dataSource, true));
+        assertTrue(circuitBreaker.isOpen());
+        assertEquals("primary", role(dataSource, true));
+    }
+
+    @Test
+    void readsOwnWritesFromPrimary() {
+        DataSource dataSource = routing(replica, new CircuitBreaker(3, 60_000));
+        readYourWrites.recordWrite("user@user.com");
+
+        authenticate("user@user.com");
+        assertEquals("primary", role(dataSource, true));
+
+        authenticate("admin@admin.com");
+        assertEquals("replica", role(dataSource, true));
+    }
+
+    private DataSource routing(DataSource replica, CircuitBreaker circuitBreaker) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaDataSource(replica, primary, circuitBreaker, readYourWrites,
+                "com.xplora.backend.service"));
+        return dataSource;
+    }
+
+    private String role(DataSource dataSource, boolean readOnly) {
+        return role(dataSource, readOnly, "com.xplora.backend.service.implementation.ProductServiceImpl.getProductById");
+    }
+
+    private String role(DataSource dataSource, boolean readOnly, String transactionName) {
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        transaction.setName(transactionName);
+        return transaction.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM db_role", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE db_role (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO db_role VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(email, null, List.of()));
+    }
+}
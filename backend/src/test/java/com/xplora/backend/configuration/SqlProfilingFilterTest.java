@@ -0,0 +1,101 @@
+package com.xplora.backend.configuration;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlProfilingFilterTest {
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SqlProfilingDataSource(new DriverManagerDataSource("jdbc:h2:mem:profiling;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE profiled (id INT)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE profiled");
+    }
+
+    @Test
+    void countsStatementsRowsAndTimeOfTheRequest() throws Exception {
+        MockHttpServletResponse response = perform(new SqlProfilingFilter(true, 20, 5000, 500), new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                SqlProfilingStatementInspector inspector = new SqlProfilingStatementInspector();
+                inspector.inspect("INSERT INTO profiled VALUES (1), (2), (3)");
+                jdbcTemplate.update("INSERT INTO profiled VALUES (1), (2), (3)");
+                inspector.inspect("SELECT id FROM profiled");
+                jdbcTemplate.queryForList("SELECT id FROM profiled", Integer.class);
+                response.getWriter().write("ok");
+            }
+        });
+
+        assertEquals("2", response.getHeader("X-Sql-Statements"));
+        // 3 insertadas más 3 leídas
+        assertEquals("6", response.getHeader("X-Sql-Rows"));
+        assertNotNull(response.getHeader("X-Sql-Time-Ms"));
+        assertEquals("ok", response.getContentAsString());
+    }
+
+    @Test
+    void omitsHeadersWhenDisabled() throws Exception {
+        MockHttpServletResponse response = perform(new SqlProfilingFilter(false, 20, 5000, 500), new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                jdbcTemplate.queryForList("SELECT id FROM profiled", Integer.class);
+            }
+        });
+
+        assertNull(response.getHeader("X-Sql-Statements"));
+    }
+
+    @Test
+    void readRowsAreNotCountedWithoutHeadersOrRowWarning() throws Exception {
+        SqlProfile[] profile = new SqlProfile[1];
+        perform(new SqlProfilingFilter(false, 20, 0, 500), new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                profile[0] = SqlProfile.current();
+                jdbcTemplate.update("INSERT INTO profiled VALUES (1), (2)");
+                jdbcTemplate.query("SELECT id FROM profiled", resultSet -> {
+                    assertFalse(Proxy.isProxyClass(resultSet.getClass()));
+                });
+            }
+        });
+
+        // Solo las 2 modificadas; las leídas no se cuentan
+        assertEquals(2, profile[0].getRows());
+    }
+
+    @Test
+    void outsideRequestsConnectionsAreNotWrapped() throws Exception {
+        try (Connection connection = dataSource.getConnection()) {
+            assertFalse(Proxy.isProxyClass(connection.getClass()));
+        }
+    }
+
+    private static MockHttpServletResponse perform(SqlProfilingFilter filter, HttpServlet servlet) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/products"), response, new MockFilterChain(servlet));
+        return response;
+    }
+}
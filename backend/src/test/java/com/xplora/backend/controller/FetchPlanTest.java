@@ -0,0 +1,118 @@
+package com.xplora.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplora.backend.entity.Availability;
+import com.xplora.backend.entity.Category;
+import com.xplora.backend.entity.Feature;
+import com.xplora.backend.entity.Product;
+import com.xplora.backend.repository.IAvailabilityRepository;
+import com.xplora.backend.repository.ICategoryRepository;
+import com.xplora.backend.repository.IFeatureRepository;
+import com.xplora.backend.repository.IProductRepository;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Recorre los endpoints que devuelven productos, reservas y favoritos con open-in-view desactivado (perfil test):
+ * si alguno deja una colección perezosa para la serialización, la respuesta falla con LazyInitializationException.
+ * Los datos son los de DataInitializer y las peticiones van con el token del administrador.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FetchPlanTest {
+
+    @Autowired private MockMvc mockMvc;
+    @Autowired private IProductRepository productRepository;
+    @Autowired private ICategoryRepository categoryRepository;
+    @Autowired private IFeatureRepository featureRepository;
+    @Autowired private IAvailabilityRepository availabilityRepository;
+    @Autowired private ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void login() throws Exception {
+        String response = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\": \"admin@admin.com\", \"password\": \"Admin12345678\"}"))
+                .andReturn().getResponse().getContentAsString();
+        token = objectMapper.readTree(response).get("token").asText();
+    }
+
+    @TestFactory
+    Stream<DynamicTest> readEndpointsSerializeWithoutSession() {
+        Product product = productRepository.findAll().get(0);
+        Category category = product.getCategory();
+        Feature feature = featureRepository.findAll().get(0);
+
+        return Stream.of(
+                "/api/v1/products",
+                "/api/v1/products/" + product.getId(),
+                "/api/v1/products/cards",
+                "/api/v1/products/category/" + category.getId(),
+                "/api/v1/products/feature/" + feature.getId(),
+                "/api/v1/categories",
+                "/api/v1/categories/" + category.getId() + "/products",
+                "/api/v1/cities",
+                "/api/v1/features",
+                "/api/v1/features/product/" + product.getId(),
+                "/api/v1/availabilities/product/" + product.getId(),
+                "/api/v1/reviews/product/" + product.getId(),
+                "/api/v1/images/" + product.getId(),
+                "/api/v1/bookings/user",
+                "/api/v1/bookings/product/" + product.getId(),
+                "/api/v1/favorites",
+                "/api/v1/users",
+                "/api/v1/users/profile"
+        ).map(path -> DynamicTest.dynamicTest(path, () -> assertSerialized(get(path))));
+    }
+
+    @Test
+    void writeEndpointsSerializeWithoutSession() throws Exception {
+        Product product = productRepository.findAll().get(1);
+        Category category = categoryRepository.findAll().get(0);
+        Feature feature = featureRepository.findAll().get(0);
+        Availability availability = availabilityRepository.findByProductId(product.getId()).get(0);
+
+        assertSerialized(post("/api/v1/bookings")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"product_id\": " + product.getId() + ", \"availability_id\": " + availability.getId() + ", \"quantity\": 1}"));
+        assertSerialized(post("/api/v1/favorites/" + product.getId()));
+        assertSerialized(get("/api/v1/favorites"));
+        assertSerialized(post("/api/v1/categories/" + product.getId() + "/assign/" + category.getId()));
+        assertSerialized(post("/api/v1/features/product/" + product.getId()).param("featureId", feature.getId().toString()));
+        assertSerialized(post("/api/v1/images/" + product.getId() + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"imageUrls\": [\"https://example.com/a.jpg\", \"https://example.com/b.jpg\"]}"));
+    }
+
+    private void assertSerialized(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request.header(HttpHeaders.AUTHORIZATION, "Bearer " + token)).andReturn();
+        Throwable error = result.getResolvedException();
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            assertFalse(cause instanceof LazyInitializationException, "Carga perezosa fuera de la transacción: " + cause.getMessage());
+        }
+        assertTrue(result.getResponse().getStatus() < 300,
+                "Estado " + result.getResponse().getStatus() + ": " + result.getResponse().getContentAsString());
+    }
+}
@@ -0,0 +1,79 @@
+package com.xplora.backend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Una base creada por ddl-auto=update antes de Flyway (el esquema de V1, sin historial) se registra en la
+ * versión 1 con baseline-on-migrate y debe quedar igual que una base nueva después de aplicar el resto.
+ */
+class FlywayUpgradeTest {
+
+    @Test
+    void existingDatabaseReachesTheSameSchemaAsANewOne() {
+        DataSource existing = dataSource("upgrade_existente");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__esquema_inicial.sql")).execute(existing);
+        DataSource fresh = dataSource("upgrade_nueva");
+
+        migrate(existing);
+        migrate(fresh);
+
+        assertEquals(columns(fresh), columns(existing));
+        assertEquals(indexes(fresh), indexes(existing));
+    }
+
+    @Test
+    void duplicateFavoritesAreRemovedBeforeTheUniqueConstraint() {
+        DataSource existing = dataSource("upgrade_favoritos");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__esquema_inicial.sql")).execute(existing);
+        JdbcTemplate jdbc = new JdbcTemplate(existing);
+        jdbc.update("INSERT INTO users (id, firstname, lastname, email, password, role) VALUES (1, 'Ana', 'Pérez', 'ana@example.com', 'x', 'USER')");
+        jdbc.update("INSERT INTO cities (id, name, country) VALUES (1, 'Bariloche', 'Argentina')");
+        for (long id = 1; id <= 2; id++) {
+            jdbc.update("INSERT INTO products (id, name, price, capacity, address, average_score, count_scores, city_id) "
+                    + "VALUES (?, ?, 100, 4, 'Av. Bustillo', 0, 0, 1)", id, "Cabaña " + id);
+        }
+        jdbc.update("INSERT INTO favorites (id, user_id, product_id) VALUES (1, 1, 1), (2, 1, 1), (3, 1, 2), (4, 1, 1)");
+
+        migrate(existing);
+
+        assertEquals(List.of(1L, 3L), jdbc.queryForList("SELECT id FROM favorites ORDER BY id", Long.class));
+    }
+
+    private static void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private static List<String> columns(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList(
+                "SELECT table_name || '.' || column_name || ' ' || data_type || ' ' || is_nullable FROM information_schema.columns "
+                        + "WHERE table_schema = 'public' AND table_name <> 'flyway_schema_history' ORDER BY table_name, column_name",
+                String.class);
+    }
+
+    // Sin las llaves primarias, cuyo nombre genera H2
+    private static List<String> indexes(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList(
+                "SELECT table_name || '.' || index_name FROM information_schema.indexes WHERE table_schema = 'public' "
+                        + "AND table_name <> 'flyway_schema_history' AND index_type_name <> 'PRIMARY KEY' ORDER BY table_name, index_name",
+                String.class);
+    }
+
+    private static DataSource dataSource(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+}
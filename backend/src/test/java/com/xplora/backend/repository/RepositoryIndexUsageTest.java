@@ -0,0 +1,112 @@
+package com.xplora.backend.repository;
+
+import com.xplora.backend.entity.User;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Ejecuta cada finder de los repositorios sobre el esquema de Flyway en H2 (modo MySQL) y verifica con EXPLAIN
+ * que todas las tablas de cada sentencia generada se lean por índice y no con un recorrido completo.
+ * Quedan fuera los listados completos (findAll, findAllWithCityAndCategory, findAllImageUrls, streamAll)
+ * y findPendingVariants, que recorre las imágenes una vez al arrancar.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:indices;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.xplora.backend.repository.RepositoryIndexUsageTest$CapturedSql"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RepositoryIndexUsageTest {
+
+    @Autowired private IAvailabilityRepository availabilityRepository;
+    @Autowired private IBookingRepository bookingRepository;
+    @Autowired private ICategoryRepository categoryRepository;
+    @Autowired private ICityRepository cityRepository;
+    @Autowired private IFavoriteRepository favoriteRepository;
+    @Autowired private IFeatureRepository featureRepository;
+    @Autowired private IProductRepository productRepository;
+    @Autowired private IRefreshTokenRepository refreshTokenRepository;
+    @Autowired private IReviewRepository reviewRepository;
+    @Autowired private IRevokedTokenRepository revokedTokenRepository;
+    @Autowired private IUserRepository userRepository;
+    @Autowired private ImageRepository imageRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @TestFactory
+    Stream<DynamicTest> everyFinderUsesAnIndex() {
+        User user = new User();
+        user.setId(1L);
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+        finders.put("IAvailabilityRepository.findByProductId", () -> availabilityRepository.findByProductId(1L));
+        finders.put("IBookingRepository.findByUserId", () -> bookingRepository.findByUserId(1L));
+        finders.put("IBookingRepository.findByProductId", () -> bookingRepository.findByProductId(1L));
+        finders.put("ICategoryRepository.findByTitle", () -> categoryRepository.findByTitle("Cabañas"));
+        finders.put("ICategoryRepository.existsById", () -> categoryRepository.existsById(1L));
+        finders.put("ICityRepository.findByName", () -> cityRepository.findByName("Bariloche"));
+        finders.put("IFavoriteRepository.findByUser", () -> favoriteRepository.findByUser(user));
+        finders.put("IFavoriteRepository.existsByUserIdAndProductId", () -> favoriteRepository.existsByUserIdAndProductId(1L, 1L));
+        finders.put("IFavoriteRepository.findProductIdsByUserId", () -> favoriteRepository.findProductIdsByUserId(1L));
+        finders.put("IFavoriteRepository.findProductIdByIdAndUserId", () -> favoriteRepository.findProductIdByIdAndUserId(1L, 1L));
+        finders.put("IFavoriteRepository.deleteByUserIdAndProductId", () -> favoriteRepository.deleteByUserIdAndProductId(1L, 1L));
+        finders.put("IFavoriteRepository.deleteByIdAndUserId", () -> favoriteRepository.deleteByIdAndUserId(1L, 1L));
+        finders.put("IFeatureRepository.existsByName", () -> featureRepository.existsByName("Wifi"));
+        finders.put("IProductRepository.existsByName", () -> productRepository.existsByName("Cabaña"));
+        finders.put("IProductRepository.findByCategoryId", () -> productRepository.findByCategoryId(1L));
+        finders.put("IRefreshTokenRepository.findByTokenHashWithUser", () -> refreshTokenRepository.findByTokenHashWithUser("hash"));
+        finders.put("IRefreshTokenRepository.revokeIfActive", () -> refreshTokenRepository.revokeIfActive(1L, now));
+        finders.put("IRefreshTokenRepository.revokeAllByUserId", () -> refreshTokenRepository.revokeAllByUserId(1L, now));
+        finders.put("IRefreshTokenRepository.deleteExpired", () -> refreshTokenRepository.deleteExpired(now));
+        finders.put("IReviewRepository.findByProductId", () -> reviewRepository.findByProductId(1L));
+        finders.put("IRevokedTokenRepository.findActiveJtis", () -> revokedTokenRepository.findActiveJtis(now));
+        finders.put("IRevokedTokenRepository.findJtisRevokedSince", () -> revokedTokenRepository.findJtisRevokedSince(now));
+        finders.put("IRevokedTokenRepository.deleteExpired", () -> revokedTokenRepository.deleteExpired(now));
+        finders.put("IUserRepository.findByEmail", () -> userRepository.findByEmail("user@user.com"));
+        finders.put("IUserRepository.updatePassword", () -> userRepository.updatePassword("user@user.com", "hash"));
+        finders.put("ImageRepository.findByProductId", () -> imageRepository.findByProductId(1L));
+        finders.put("ImageRepository.findMaxDisplayOrder", () -> imageRepository.findMaxDisplayOrder(1L));
+        finders.put("ImageRepository.updateVariantSizes", () -> imageRepository.updateVariantSizes(1L, "320x240"));
+
+        return finders.entrySet().stream().map(finder -> DynamicTest.dynamicTest(finder.getKey(), () -> {
+            CapturedSql.STATEMENTS.clear();
+            finder.getValue().run();
+            List<String> statements = new ArrayList<>(CapturedSql.STATEMENTS);
+            assertFalse(statements.isEmpty(), "No se capturó ninguna sentencia");
+            for (String sql : statements) {
+                String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+                assertFalse(plan.contains(".tableScan"), "Recorrido completo de tabla en:\n" + plan);
+            }
+        }));
+    }
+
+    // Registra el SQL que genera Hibernate para poder pedir su plan
+    public static class CapturedSql implements StatementInspector {
+        static final List<String> STATEMENTS = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
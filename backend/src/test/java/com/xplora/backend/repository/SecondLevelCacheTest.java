@@ -0,0 +1,118 @@
+package com.xplora.backend.repository;
+
+import com.xplora.backend.entity.Category;
+import com.xplora.backend.entity.City;
+import com.xplora.backend.entity.Feature;
+import com.xplora.backend.entity.Product;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Las asociaciones de referencia de un producto (ciudad, categoría y características) se resuelven desde la
+ * caché de segundo nivel, y una escritura de administración se ve en la siguiente lectura sin volver a la base.
+ * Cada paso corre en su propia transacción porque la caché se actualiza al confirmar.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cache;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired private IProductRepository productRepository;
+    @Autowired private ICategoryRepository categoryRepository;
+    @Autowired private ICityRepository cityRepository;
+    @Autowired private IFeatureRepository featureRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private EntityManagerFactory entityManagerFactory;
+
+    private TransactionTemplate transaction;
+    private Statistics statistics;
+    private Long categoryId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        categoryId = transaction.execute(status -> {
+            City city = cityRepository.save(new City(null, "Bariloche", "Argentina", null));
+            Category category = categoryRepository.save(new Category(null, "Aventura " + System.nanoTime(), "Deportes", "https://example.com/aventura.png", null));
+            Feature wifi = featureRepository.save(new Feature(null, "Wifi " + System.nanoTime(), "https://example.com/wifi.png", null));
+            Feature pool = featureRepository.save(new Feature(null, "Piscina " + System.nanoTime(), "https://example.com/piscina.png", null));
+
+            for (int i = 0; i < 3; i++) {
+                Product product = new Product();
+                product.setName("Cabaña " + i + " " + System.nanoTime());
+                product.setPrice(100.0);
+                product.setCapacity(4);
+                product.setAddress("Av. Bustillo " + i);
+                product.setCity(city);
+                product.setCategory(category);
+                product.setFeatures(List.of(wifi, pool));
+                productRepository.save(product);
+            }
+            return category.getId();
+        });
+    }
+
+    @Test
+    void loadsProductAssociationsFromCache() {
+        loadProductsWithFeatures();
+        statistics.clear();
+
+        int featureCount = loadProductsWithFeatures();
+
+        assertEquals(6, featureCount);
+        assertEquals(1, statistics.getPrepareStatementCount(), "solo la consulta de productos debe ir a la base");
+        assertEquals(0, statistics.getSecondLevelCacheMissCount());
+        assertTrue(statistics.getDomainDataRegionStatistics("product-features").getHitCount() >= 3);
+        assertTrue(statistics.getDomainDataRegionStatistics("features").getHitCount() >= 2);
+    }
+
+    @Test
+    void adminWritesAreVisibleThroughTheCache() {
+        transaction.executeWithoutResult(status -> {
+            Category category = categoryRepository.findById(categoryId).orElseThrow();
+            category.setTitle("Aventura extrema " + System.nanoTime());
+            categoryRepository.save(category);
+        });
+        String expectedTitle = transaction.execute(status -> categoryRepository.findById(categoryId).orElseThrow().getTitle());
+        statistics.clear();
+
+        String cachedTitle = transaction.execute(status -> categoryRepository.findById(categoryId).orElseThrow().getTitle());
+
+        assertTrue(cachedTitle.startsWith("Aventura extrema"));
+        assertEquals(expectedTitle, cachedTitle);
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("categories").getHitCount());
+    }
+
+    private int loadProductsWithFeatures() {
+        return transaction.execute(status -> {
+            int features = 0;
+            for (Product product : productRepository.findByCategoryId(categoryId)) {
+                features += product.getFeatures().size();
+                assertEquals("Bariloche", product.getCity().getName());
+            }
+            return features;
+        });
+    }
+}
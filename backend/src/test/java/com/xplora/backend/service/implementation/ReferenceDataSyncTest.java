@@ -0,0 +1,82 @@
+package com.xplora.backend.service.implementation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.xplora.backend.entity.Category;
+import com.xplora.backend.event.ReferenceDataChangedEvent;
+import com.xplora.backend.repository.ICategoryRepository;
+import com.xplora.backend.repository.ICityRepository;
+import com.xplora.backend.repository.IFeatureRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Dos ReferenceDataService sobre la misma base hacen de dos instancias: un cambio hecho en una llega a la otra
+ * en el siguiente sync, con la misma versión y el mismo ETag.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:referencedata;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataSyncTest {
+
+    @Autowired private ICategoryRepository categoryRepository;
+    @Autowired private ICityRepository cityRepository;
+    @Autowired private IFeatureRepository featureRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void changeOnOneInstanceReachesTheOtherOnSync() {
+        ReferenceDataService first = instance(600000);
+        ReferenceDataService second = instance(600000);
+        long version = first.getSnapshot().data().version();
+        assertEquals(version, second.getSnapshot().data().version());
+
+        Category category = categoryRepository.save(new Category(null, "Playa " + System.nanoTime(), "Costa", "https://img", null));
+        ReferenceDataChangedEvent event = new ReferenceDataChangedEvent("categories");
+        first.incrementVersion(event);
+        first.onReferenceDataChanged(event);
+
+        assertEquals(version + 1, first.getSnapshot().data().version());
+        assertTrue(containsCategory(first, category));
+        // Sin sync la otra instancia sigue con la foto anterior
+        assertFalse(containsCategory(second, category));
+
+        second.sync();
+
+        assertEquals(version + 1, second.getSnapshot().data().version());
+        assertTrue(containsCategory(second, category));
+        assertEquals(first.getSnapshot().etag(), second.getSnapshot().etag());
+    }
+
+    @Test
+    void snapshotOlderThanMaxAgeIsRebuiltWithoutVersionChange() {
+        ReferenceDataService service = instance(0);
+        service.getSnapshot();
+
+        // Cambio escrito sin incrementar la versión
+        Category category = categoryRepository.save(new Category(null, "Montaña " + System.nanoTime(), "Sierra", "https://img", null));
+        service.sync();
+
+        assertTrue(containsCategory(service, category));
+    }
+
+    private ReferenceDataService instance(long maxAgeMs) {
+        return new ReferenceDataService(categoryRepository, cityRepository, featureRepository, new ObjectMapper(), jdbcTemplate, maxAgeMs);
+    }
+
+    private static boolean containsCategory(ReferenceDataService service, Category category) {
+        return service.getSnapshot().categories().stream().anyMatch(c -> c.id().equals(category.getId()));
+    }
+}
@@ -0,0 +1,142 @@
+package com.xplora.backend.support;
+
+import java.io.*;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Servidor SMTP mínimo en memoria para tests y benchmarks: acepta EHLO, AUTH PLAIN/LOGIN,
+ * MAIL, RCPT, DATA, RSET, NOOP y QUIT, y guarda los mensajes recibidos.
+ */
+public class LocalSmtpServer implements Closeable {
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "local-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<String> messages = new CopyOnWriteArrayList<>();
+    private final List<Socket> clients = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final AtomicInteger received = new AtomicInteger();
+    // En benchmarks se cuentan los mensajes sin guardar su contenido
+    private volatile boolean keepMessages = true;
+
+    public LocalSmtpServer() throws IOException {
+        this.serverSocket = new ServerSocket(0);
+        executor.submit(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    public int getReceivedCount() {
+        return received.get();
+    }
+
+    public List<String> getMessages() {
+        return messages;
+    }
+
+    public void setKeepMessages(boolean keepMessages) {
+        this.keepMessages = keepMessages;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        for (Socket client : clients) {
+            client.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.incrementAndGet();
+                clients.add(socket);
+                executor.submit(() -> handle(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.US_ASCII))) {
+            reply(out, "220 localhost ESMTP");
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250-AUTH PLAIN LOGIN\r\n250 8BITMIME");
+                    case "HELO" -> reply(out, "250 localhost");
+                    case "AUTH" -> authenticate(line, in, out);
+                    case "MAIL", "RCPT", "RSET", "NOOP" -> reply(out, "250 OK");
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        String dataLine;
+                        while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+                            if (keepMessages) {
+                                data.append(dataLine).append("\r\n");
+                            }
+                        }
+                        if (keepMessages) {
+                            messages.add(data.toString());
+                        }
+                        received.incrementAndGet();
+                        reply(out, "250 OK queued");
+                    }
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (SocketException e) {
+            // conexión cerrada por el cliente o por close()
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            clients.remove(socket);
+        }
+    }
+
+    private void authenticate(String line, BufferedReader in, Writer out) throws IOException {
+        String[] parts = line.split(" ");
+        if (parts.length >= 2 && parts[1].equalsIgnoreCase("LOGIN")) {
+            reply(out, "334 VXNlcm5hbWU6");
+            in.readLine();
+            reply(out, "334 UGFzc3dvcmQ6");
+            in.readLine();
+        } else if (parts.length == 2) {
+            reply(out, "334 ");
+            in.readLine();
+        }
+        reply(out, "235 Authentication successful");
+    }
+
+    private static void reply(Writer out, String response) throws IOException {
+        out.write(response);
+        out.write("\r\n");
+        out.flush();
+    }
+}
@@ -0,0 +1,84 @@
+package com.xplora.backend.utils;
+
+import com.xplora.backend.support.LocalSmtpServer;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MailDispatcherTest {
+    private LocalSmtpServer server;
+    private Session session;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = new LocalSmtpServer();
+        Properties properties = new Properties();
+        properties.put("mail.smtp.auth", "true");
+        properties.put("mail.smtp.connectiontimeout", "2000");
+        properties.put("mail.smtp.timeout", "2000");
+        session = Session.getInstance(properties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        server.close();
+    }
+
+    @Test
+    void sendsQueuedMessagesOverPooledConnections() throws Exception {
+        MailDispatcher dispatcher = dispatcher(server.getPort(), new CircuitBreaker(3, 60_000));
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(dispatcher.submit(message("user" + i + "@example.com", "Mensaje " + i)));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        dispatcher.shutdown();
+
+        assertEquals(200, server.getReceivedCount());
+        assertTrue(server.getConnectionCount() <= 2, "conexiones abiertas: " + server.getConnectionCount());
+        assertTrue(server.getMessages().stream().anyMatch(body -> body.contains("Mensaje 199")));
+    }
+
+    @Test
+    void opensCircuitAfterConsecutiveFailures() throws Exception {
+        int port = server.getPort();
+        server.close();
+        MailDispatcher dispatcher = dispatcher(port, new CircuitBreaker(2, 60_000));
+
+        for (int i = 0; i < 2; i++) {
+            CompletableFuture<Void> failed = dispatcher.submit(message("user@example.com", "Falla " + i));
+            assertThrows(ExecutionException.class, () -> failed.get(10, TimeUnit.SECONDS));
+        }
+        CompletableFuture<Void> rejected = dispatcher.submit(message("user@example.com", "Rechazado"));
+        assertTrue(rejected.isCompletedExceptionally(), "con el circuito abierto se rechaza sin encolar");
+        dispatcher.shutdown();
+    }
+
+    private MailDispatcher dispatcher(int port, CircuitBreaker circuitBreaker) {
+        return new MailDispatcher(session, "localhost", port, "user", "secret",
+                2, 1000, 20, 5_000, circuitBreaker);
+    }
+
+    private MimeMessage message(String to, String text) throws MessagingException {
+        MimeMessage message = new MimeMessage(session);
+        message.setFrom(new InternetAddress("noreply@xplora.com"));
+        message.setRecipient(Message.RecipientType.TO, new InternetAddress(to));
+        message.setSubject("Prueba");
+        message.setText(text, "UTF-8");
+        return message;
+    }
+}
@@ -0,0 +1,69 @@
+package com.xplora.backend.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketRateLimiterTest {
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    @Test
+    void allowsUpToCapacityThenAsksToWait() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(4, 100, 60000);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("login|1.2.3.4", 3, MINUTE));
+        }
+        long waitNanos = limiter.tryAcquire("login|1.2.3.4", 3, MINUTE);
+
+        // Con 3 tokens por minuto el siguiente llega en unos 20 segundos
+        assertTrue(waitNanos > TimeUnit.SECONDS.toNanos(19) && waitNanos <= TimeUnit.SECONDS.toNanos(20), "espera: " + waitNanos);
+    }
+
+    @Test
+    void keysHaveIndependentBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(4, 100, 60000);
+
+        assertEquals(0, limiter.tryAcquire("login|a@example.com", 1, MINUTE));
+        assertTrue(limiter.tryAcquire("login|a@example.com", 1, MINUTE) > 0);
+
+        assertEquals(0, limiter.tryAcquire("login|b@example.com", 1, MINUTE));
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 100, 60000);
+        long period = TimeUnit.MILLISECONDS.toNanos(50);
+
+        assertEquals(0, limiter.tryAcquire("k", 1, period));
+        assertTrue(limiter.tryAcquire("k", 1, period) > 0);
+        Thread.sleep(60);
+
+        assertEquals(0, limiter.tryAcquire("k", 1, period));
+    }
+
+    @Test
+    void boundsTheNumberOfKeysPerStripe() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 10, 60000);
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire("ip|" + i, 5, MINUTE);
+        }
+
+        assertEquals(10, limiter.size());
+    }
+
+    @Test
+    void evictsIdleKeys() throws InterruptedException {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, 100, 20);
+        limiter.tryAcquire("ip|1", 5, MINUTE);
+        limiter.tryAcquire("ip|2", 5, MINUTE);
+        Thread.sleep(40);
+
+        limiter.tryAcquire("ip|3", 5, MINUTE);
+
+        assertEquals(1, limiter.size());
+    }
+}